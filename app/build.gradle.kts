@@ -29,6 +29,10 @@ android {
     buildFeatures {
         viewBinding = true
     }
+    testOptions {
+        // Log y SystemClock devuelven valores por defecto en los tests de ViewModel
+        unitTests.isReturnDefaultValues = true
+    }
 }
 
 dependencies {
@@ -45,6 +49,7 @@ dependencies {
     implementation(libs.constraintlayout)
     implementation("androidx.recyclerview:recyclerview:1.4.0")
     implementation("com.facebook.shimmer:shimmer:0.5.0")
+    implementation("androidx.paging:paging-runtime:3.3.6")
 
     // --- LIFECYCLE & VIEWMODEL ---
     val lifecycleVersion = "2.8.7"
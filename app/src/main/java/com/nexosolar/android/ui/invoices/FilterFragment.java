@@ -216,25 +216,19 @@ public class FilterFragment extends Fragment {
      * Las fechas son tomadas directamente del ViewModel (null si no están seleccionadas).
      */
     private InvoiceFilters construirFiltrosDesdeUI() {
-        InvoiceFilters filtros = new InvoiceFilters();
-
-        // Recoger estados de los checkboxes
+        // Recoger estados de los checkboxes (ninguno marcado = sin filtro de estado)
         List<String> estados = getStrings();
-        filtros.setFilteredStates(estados);
+        InvoiceFilters filtros = new InvoiceFilters().withFilteredStates(estados.isEmpty() ? null : estados);
 
         // Recoger fechas del ViewModel (pueden ser null si no están seleccionadas explícitamente)
         InvoiceFilters filtrosActuales = viewModel.getFiltrosActuales().getValue();
         if (filtrosActuales != null) {
-            filtros.setStartDate(filtrosActuales.getStartDate());
-            filtros.setEndDate(filtrosActuales.getEndDate());
+            filtros = filtros.withDateRange(filtrosActuales.getStartDate(), filtrosActuales.getEndDate());
         }
 
         // Recoger importes del slider
         List<Float> valores = binding.rangeSlider.getValues();
-        filtros.setMinAmount((double) valores.get(0));
-        filtros.setMaxAmount((double) valores.get(1));
-
-        return filtros;
+        return filtros.withAmountRange((double) valores.get(0), (double) valores.get(1));
     }
 
     @NonNull
@@ -293,10 +287,7 @@ public class FilterFragment extends Fragment {
         }
 
         // Aplicar las fechas efectivas al filtro antes de enviarlo al ViewModel
-        nuevosFiltros.setStartDate(fechaInicioEfectiva);
-        nuevosFiltros.setEndDate(fechaFinEfectiva);
-
-        viewModel.actualizarFiltros(nuevosFiltros);
+        viewModel.actualizarFiltros(nuevosFiltros.withDateRange(fechaInicioEfectiva, fechaFinEfectiva));
         cerrarFragmento();
     }
 
@@ -308,7 +299,8 @@ public class FilterFragment extends Fragment {
     private void actualizarEstadoCheckbox(String estado, boolean isChecked) {
         InvoiceFilters filtros = viewModel.getFiltrosActuales().getValue();
         if (filtros != null) {
-            List<String> estados = new ArrayList<>(filtros.getFilteredStates());
+            List<String> estados = filtros.getFilteredStates();
+            if (estados == null) estados = new ArrayList<>();
 
             if (isChecked) {
                 if (!estados.contains(estado)) estados.add(estado);
@@ -316,13 +308,15 @@ public class FilterFragment extends Fragment {
                 estados.remove(estado);
             }
 
-            filtros.setFilteredStates(estados);
+            // Sin ningún estado marcado no se filtra por estado
+            filtros = filtros.withFilteredStates(estados.isEmpty() ? null : estados);
 
             // Preservar valores del slider para evitar resets visuales
             List<Float> currentSliderValues = binding.rangeSlider.getValues();
             if (currentSliderValues.size() >= 2) {
-                filtros.setMinAmount((double) currentSliderValues.get(0));
-                filtros.setMaxAmount((double) currentSliderValues.get(1));
+                filtros = filtros.withAmountRange(
+                        (double) currentSliderValues.get(0),
+                        (double) currentSliderValues.get(1));
             }
 
             viewModel.actualizarEstadoFiltros(filtros);
@@ -378,12 +372,9 @@ public class FilterFragment extends Fragment {
 
             InvoiceFilters filtros = viewModel.getFiltrosActuales().getValue();
             if (filtros != null) {
-                if (esInicio) {
-                    filtros.setStartDate(nuevaFecha);
-                } else {
-                    filtros.setEndDate(nuevaFecha);
-                }
-                viewModel.actualizarEstadoFiltros(filtros);
+                viewModel.actualizarEstadoFiltros(esInicio
+                        ? filtros.withStartDate(nuevaFecha)
+                        : filtros.withEndDate(nuevaFecha));
             }
         });
 
@@ -1,7 +1,5 @@
 package com.nexosolar.android.ui.invoices;
 
-import android.annotation.SuppressLint;
-import android.content.Context;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -9,16 +7,14 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
 import androidx.core.content.ContextCompat;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.nexosolar.android.R;
-import com.nexosolar.android.core.DateUtils;
 import com.nexosolar.android.databinding.ItemInvoiceBinding;
-import com.nexosolar.android.domain.models.Invoice;
-import com.nexosolar.android.domain.models.InvoiceState;
 
 import java.util.List;
-import java.util.Locale;
 
 /**
  * InvoiceAdapter
@@ -26,128 +22,119 @@ import java.util.Locale;
  * Adaptador de RecyclerView para mostrar la lista de facturas.
  * Cada item muestra la fecha, importe y estado visual de una factura.
  * Maneja estados diferenciados con colores y visibilidad condicional.
+ *
+ * Extiende {@link ListAdapter}: cada lista nueva se compara con la anterior en un hilo de
+ * fondo (AsyncListDiffer) y solo se notifican las inserciones, borrados, movimientos y
+ * cambios reales, en lugar de re-vincular y re-maquetar toda la lista.
+ *
+ * Trabaja con {@link InvoiceRowModel}: los textos y estilos llegan ya resueltos desde el
+ * hilo de fondo, de modo que el binding solo asigna valores a las vistas.
  */
-public class InvoiceAdapter extends RecyclerView.Adapter<InvoiceAdapter.InvoiceViewHolder> {
+public class InvoiceAdapter extends ListAdapter<InvoiceRowModel, InvoiceAdapter.InvoiceViewHolder> {
+
+    // ===== Constantes =====
+
+    /**
+     * Identidad y contenido de una fila para el cálculo de diferencias.
+     */
+    static final DiffUtil.ItemCallback<InvoiceRowModel> DIFF_CALLBACK = new DiffUtil.ItemCallback<InvoiceRowModel>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull InvoiceRowModel oldItem, @NonNull InvoiceRowModel newItem) {
+            // Con identificador asignado se compara por ID; sin él, la identidad es el contenido
+            if (oldItem.invoiceId != 0 || newItem.invoiceId != 0) {
+                return oldItem.invoiceId == newItem.invoiceId;
+            }
+            return oldItem.hasSameContent(newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull InvoiceRowModel oldItem, @NonNull InvoiceRowModel newItem) {
+            return oldItem.hasSameContent(newItem);
+        }
+    };
 
-    // ===== Variables de instancia =====
+    // ===== Constructores =====
 
-    private List<Invoice> listaFacturas;
+    public InvoiceAdapter() {
+        super(DIFF_CALLBACK);
+    }
 
     // ===== Métodos públicos =====
 
-    @SuppressLint("NotifyDataSetChanged")
-    public void setFacturas(List<Invoice> facturas) {
-        this.listaFacturas = facturas;
-        notifyDataSetChanged();
+    /**
+     * Publica una nueva lista de filas.
+     * El diff se calcula fuera del hilo principal; la lista no debe mutarse tras enviarla.
+     *
+     * @param filas Filas a mostrar (null se trata como vacía)
+     */
+    public void setFilas(List<InvoiceRowModel> filas) {
+        submitList(filas);
     }
 
     @NonNull
     @Override
     public InvoiceViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        ItemInvoiceBinding binding = ItemInvoiceBinding.inflate(
-                LayoutInflater.from(parent.getContext()), parent, false
-        );
-        return new InvoiceViewHolder(binding);
+        return createViewHolder(parent);
     }
 
-    @SuppressLint("SetTextI18n")
     @Override
     public void onBindViewHolder(@NonNull InvoiceViewHolder holder, int position) {
-        Invoice factura = listaFacturas.get(position);
-        Context context = holder.itemView.getContext();
-
-        bindFecha(holder, factura, context);
-        bindImporte(holder, factura);
-        bindEstado(holder, factura, context);
-
-        holder.itemView.setOnClickListener(this::showPopup);
-    }
-
-    @Override
-    public int getItemCount() {
-        return listaFacturas != null ? listaFacturas.size() : 0;
+        bind(holder, getItem(position));
     }
 
-    // ===== Métodos privados de binding =====
+    // ===== Métodos de binding compartidos =====
 
     /**
-     * Vincula la fecha de la factura al TextView correspondiente.
-     * Si no hay fecha válida, muestra un placeholder.
+     * Crea el ViewHolder de una fila de factura.
+     * Compartido con InvoicePagingAdapter para que ambos listados pinten igual.
+     * El listener de click se asigna una única vez por ViewHolder.
      */
-    private void bindFecha(InvoiceViewHolder holder, Invoice factura, Context context) {
-        String fechaTexto = DateUtils.formatDate(factura.getInvoiceDate());
-        if (!fechaTexto.isEmpty()) {
-            holder.binding.txtFecha.setText(fechaTexto);
-        } else {
-            holder.binding.txtFecha.setText(context.getString(R.string.sin_fecha));
-        }
-    }
-
-    /**
-     * Vincula el importe de la factura con formato de moneda (EUR).
-     */
-    private void bindImporte(InvoiceViewHolder holder, Invoice factura) {
-        holder.binding.txtImporte.setText(
-                String.format(Locale.getDefault(), "%.2f €", factura.getInvoiceAmount())
+    static InvoiceViewHolder createViewHolder(@NonNull ViewGroup parent) {
+        ItemInvoiceBinding binding = ItemInvoiceBinding.inflate(
+                LayoutInflater.from(parent.getContext()), parent, false
         );
+        InvoiceViewHolder holder = new InvoiceViewHolder(binding);
+        holder.itemView.setOnClickListener(InvoiceAdapter::showPopup);
+        return holder;
     }
 
     /**
-     * Vincula el estado de la factura con texto y color apropiados.
-     * Gestiona visibilidad condicional según el tipo de estado (pagada se oculta, resto visible).
+     * Vincula una fila a su ViewHolder.
+     * Compartido con InvoicePagingAdapter para que ambos listados pinten igual.
      */
-    private void bindEstado(InvoiceViewHolder holder, Invoice factura, Context context) {
-        InvoiceState estadoEnum = factura.getEstadoEnum();
-
-        switch (estadoEnum) {
-            case PENDING:
-                holder.binding.txtEstado.setText(R.string.estado_pendiente);
-                holder.binding.txtEstado.setTextColor(
-                        ContextCompat.getColor(context, R.color.texto_alerta)
-                );
-                holder.binding.txtEstado.setVisibility(View.VISIBLE);
-                break;
-
-            case PAID:
-                holder.binding.txtEstado.setVisibility(View.GONE);
-                break;
-
-            case CANCELLED:
-                holder.binding.txtEstado.setText(R.string.estado_anulada);
-                holder.binding.txtEstado.setTextColor(
-                        ContextCompat.getColor(context, R.color.texto_alerta)
-                );
-                holder.binding.txtEstado.setVisibility(View.VISIBLE);
-                break;
-
-            case FIXED_FEE:
-                holder.binding.txtEstado.setText(R.string.estado_cuota_fija);
-                holder.binding.txtEstado.setTextColor(
-                        ContextCompat.getColor(context, android.R.color.black)
-                );
-                holder.binding.txtEstado.setVisibility(View.VISIBLE);
-                break;
-
-            case PAYMENT_PLAN:
-                holder.binding.txtEstado.setText(R.string.estado_plan_pago);
-                holder.binding.txtEstado.setTextColor(
-                        ContextCompat.getColor(context, android.R.color.black)
-                );
-                holder.binding.txtEstado.setVisibility(View.VISIBLE);
-                break;
-
-            default:
-                holder.binding.txtEstado.setText(factura.getInvoiceStatus());
-                holder.binding.txtEstado.setVisibility(View.VISIBLE);
-                break;
+    static void bind(@NonNull InvoiceViewHolder holder, @NonNull InvoiceRowModel fila) {
+        ItemInvoiceBinding binding = holder.binding;
+
+        // Fecha (placeholder si la factura no tiene fecha válida)
+        if (fila.fechaTexto != null) {
+            binding.txtFecha.setText(fila.fechaTexto);
+        } else {
+            binding.txtFecha.setText(R.string.sin_fecha);
         }
+
+        binding.txtImporte.setText(fila.importeTexto);
+
+        // Estado: pagada se oculta, el resto se muestra con su texto y color
+        if (!fila.estadoVisible) {
+            binding.txtEstado.setVisibility(View.GONE);
+            return;
+        }
+        if (fila.estadoTextoRes != 0) {
+            binding.txtEstado.setText(fila.estadoTextoRes);
+        } else {
+            binding.txtEstado.setText(fila.estadoTextoLibre);
+        }
+        binding.txtEstado.setTextColor(ContextCompat.getColor(holder.itemView.getContext(), fila.estadoColorRes));
+        binding.txtEstado.setVisibility(View.VISIBLE);
     }
 
+    // ===== Métodos privados =====
+
     /**
      * Muestra un diálogo informativo al hacer click en un item.
      * Funcionalidad de detalle pendiente de implementación.
      */
-    private void showPopup(View view) {
+    private static void showPopup(View view) {
         new AlertDialog.Builder(view.getContext())
                 .setTitle("Información")
                 .setMessage("Esta funcionalidad aún no está disponible")
@@ -8,7 +8,10 @@ import android.view.View;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.fragment.app.FragmentTransaction;
+import androidx.lifecycle.LiveData;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.LoadState;
+import androidx.paging.PagingData;
 import androidx.recyclerview.widget.LinearLayoutManager;
 
 import com.nexosolar.android.NexoSolarApplication;
@@ -19,9 +22,11 @@ import com.nexosolar.android.domain.models.Invoice;
 import com.nexosolar.android.domain.repository.InvoiceRepository;
 import com.nexosolar.android.domain.usecase.invoice.FilterInvoicesUseCase;
 import com.nexosolar.android.domain.usecase.invoice.GetInvoicesUseCase;
+import com.nexosolar.android.domain.usecase.invoice.GetPagedInvoicesUseCase;
 import com.nexosolar.android.ui.invoices.managers.InvoiceStateManager.ViewState;
 import java.util.List;
 import androidx.activity.OnBackPressedCallback;
+import kotlin.Unit;
 
 
 public class InvoiceListActivity extends AppCompatActivity {
@@ -29,6 +34,7 @@ public class InvoiceListActivity extends AppCompatActivity {
     private ActivityInvoiceListBinding binding;
     private InvoiceViewModel invoiceViewModel;
     private InvoiceAdapter adapter;
+    private InvoicePagingAdapter pagingAdapter;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -56,9 +62,11 @@ public class InvoiceListActivity extends AppCompatActivity {
         InvoiceRepository repository = dataModule.provideInvoiceRepository();
         GetInvoicesUseCase getUseCase = new GetInvoicesUseCase(repository);
         FilterInvoicesUseCase filterUseCase = new FilterInvoicesUseCase();
+        GetPagedInvoicesUseCase<LiveData<PagingData<Invoice>>> pagedUseCase =
+                new GetPagedInvoicesUseCase<>(dataModule.provideInvoicePagingRepository());
 
         // 3. Usar tu Factory (file:24) para instanciar el ViewModel
-        InvoiceViewModelFactory factory = new InvoiceViewModelFactory(getUseCase, filterUseCase);
+        InvoiceViewModelFactory factory = new InvoiceViewModelFactory(getUseCase, filterUseCase, pagedUseCase);
 
         // 4. IMPORTANTE: Pasar la factory al ViewModelProvider
         invoiceViewModel = new ViewModelProvider(this, factory).get(InvoiceViewModel.class);
@@ -73,12 +81,19 @@ public class InvoiceListActivity extends AppCompatActivity {
     }
 
     private void setupObservers() {
-        // Observar la lista de facturas
-        invoiceViewModel.getFacturas().observe(this, facturas -> {
-            adapter.setFacturas(facturas);
+        // Observar las filas de la lista (ya formateadas en segundo plano)
+        invoiceViewModel.getFilas().observe(this, filas -> {
+            adapter.setFilas(filas);
             actualizarEstadoUI();
         });
 
+        // Cuentas grandes: el ViewModel pasa a servir el listado paginado desde Room
+        invoiceViewModel.getModoPaginado().observe(this, paginado -> {
+            if (Boolean.TRUE.equals(paginado)) {
+                activarListadoPaginado();
+            }
+        });
+
         // Observar el estado de la vista (LOADING, ERROR, DATA, EMPTY)
         invoiceViewModel.getViewState().observe(this, state -> {
             actualizarEstadoUI();
@@ -90,6 +105,37 @@ public class InvoiceListActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * Sustituye el adaptador completo por el paginado y se suscribe a las páginas.
+     * El estado vacío se decide con los estados de carga de Paging.
+     */
+    private void activarListadoPaginado() {
+        if (pagingAdapter != null) return;
+
+        pagingAdapter = new InvoicePagingAdapter();
+        pagingAdapter.addLoadStateListener(loadStates -> {
+            if (loadStates.getRefresh() instanceof LoadState.NotLoading) {
+                actualizarEstadoUI();
+            }
+            return Unit.INSTANCE;
+        });
+        binding.recyclerView.setAdapter(pagingAdapter);
+
+        invoiceViewModel.getFacturasPaginadas().observe(this, pagingData ->
+                pagingAdapter.submitData(getLifecycle(), pagingData));
+    }
+
+    /**
+     * Indica si hay facturas que mostrar en el adaptador activo.
+     */
+    private boolean hayFacturasVisibles() {
+        if (pagingAdapter != null) {
+            return pagingAdapter.getItemCount() > 0;
+        }
+        List<InvoiceRowModel> filas = invoiceViewModel.getFilas().getValue();
+        return filas != null && !filas.isEmpty();
+    }
+
     private void setupListeners() {
         binding.btnRetry.setOnClickListener(v -> invoiceViewModel.cargarFacturas());
         binding.btnVolver.setOnClickListener(v -> {
@@ -104,12 +150,12 @@ public class InvoiceListActivity extends AppCompatActivity {
      */
     private void actualizarEstadoUI() {
         ViewState state = invoiceViewModel.getViewState().getValue();
-        List<Invoice> facturas = invoiceViewModel.getFacturas().getValue();
+        List<InvoiceRowModel> filas = invoiceViewModel.getFilas().getValue();
         boolean showEmptyError = Boolean.TRUE.equals(invoiceViewModel.getShowEmptyError().getValue());
 
         Log.d("UI_STATE", "=== ACTUALIZANDO UI ===");
         Log.d("UI_STATE", "Estado: " + state);
-        Log.d("UI_STATE", "Facturas: " + (facturas != null ? facturas.size() : 0));
+        Log.d("UI_STATE", "Facturas: " + (filas != null ? filas.size() : 0));
         Log.d("UI_STATE", "ShowEmptyError: " + showEmptyError);
 
         if (state == null) {
@@ -137,7 +183,7 @@ public class InvoiceListActivity extends AppCompatActivity {
 
         // PRIORIDAD 3: Resultados (Datos vs Lista Vacía)
         // Solo evaluamos el contenido de la lista si el proceso de carga/filtrado ya terminó.
-        if (facturas != null && !facturas.isEmpty()) {
+        if (hayFacturasVisibles()) {
             mostrarLista();
         } else {
             // Solo mostramos el estado vacío si el manager ha confirmado que no hay resultados (ViewState.EMPTY)
@@ -202,11 +248,8 @@ public class InvoiceListActivity extends AppCompatActivity {
     public void actualizarEstadoUIInmediatamente() {
         // Ejecutar en el hilo principal de forma síncrona
         runOnUiThread(() -> {
-            ViewState state = invoiceViewModel.getViewState().getValue();
-            List<Invoice> facturas = invoiceViewModel.getFacturas().getValue();
-
             // Actualización mínima y rápida
-            if (facturas != null && !facturas.isEmpty()) {
+            if (hayFacturasVisibles()) {
                 binding.recyclerView.setVisibility(View.VISIBLE);
                 binding.layoutEmptyState.setVisibility(View.GONE);
                 binding.layoutErrorState.setVisibility(View.GONE);
@@ -215,13 +258,6 @@ public class InvoiceListActivity extends AppCompatActivity {
                 binding.recyclerView.setVisibility(View.GONE);
                 binding.layoutErrorState.setVisibility(View.GONE);
             }
-
-            // Forzar un redibujado
-            binding.recyclerView.post(() -> {
-                if (adapter != null) {
-                    adapter.notifyDataSetChanged();
-                }
-            });
         });
     }
 
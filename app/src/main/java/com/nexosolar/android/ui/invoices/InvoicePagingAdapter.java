@@ -0,0 +1,41 @@
+package com.nexosolar.android.ui.invoices;
+
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+
+/**
+ * InvoicePagingAdapter
+ *
+ * Adaptador paginado para cuentas con muchas facturas.
+ * Recibe las páginas de Paging 3 (cargadas desde Room con los filtros como parámetros de la
+ * consulta) y solo mantiene en memoria la ventana visible más el margen de precarga.
+ *
+ * Reutiliza el ViewHolder, el binding y el DiffUtil de {@link InvoiceAdapter}; las páginas
+ * llegan ya convertidas a {@link InvoiceRowModel} desde el ViewModel.
+ */
+public class InvoicePagingAdapter extends PagingDataAdapter<InvoiceRowModel, InvoiceAdapter.InvoiceViewHolder> {
+
+    // ===== Constructores =====
+
+    public InvoicePagingAdapter() {
+        super(InvoiceAdapter.DIFF_CALLBACK);
+    }
+
+    // ===== Métodos públicos =====
+
+    @NonNull
+    @Override
+    public InvoiceAdapter.InvoiceViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        return InvoiceAdapter.createViewHolder(parent);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull InvoiceAdapter.InvoiceViewHolder holder, int position) {
+        InvoiceRowModel fila = getItem(position);
+        if (fila != null) {
+            InvoiceAdapter.bind(holder, fila);
+        }
+    }
+}
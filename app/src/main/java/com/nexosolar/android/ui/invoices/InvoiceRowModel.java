@@ -0,0 +1,132 @@
+package com.nexosolar.android.ui.invoices;
+
+import androidx.annotation.ColorRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.StringRes;
+
+import com.nexosolar.android.R;
+import com.nexosolar.android.core.DateUtils;
+import com.nexosolar.android.domain.models.Invoice;
+import com.nexosolar.android.domain.models.InvoiceState;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Modelo de presentación de una fila del listado de facturas.
+ *
+ * Se construye en segundo plano (tras filtrar o al mapear una página) con todo lo que la
+ * fila necesita ya resuelto: fecha e importe formateados, estado, texto y color. Así el
+ * binding en el hilo principal se limita a asignar campos, sin formatear ni buscar estados.
+ *
+ * Es inmutable y puede compartirse entre hilos.
+ */
+public final class InvoiceRowModel {
+
+    // ===== Campos =====
+
+    /**
+     * Identificador estable de la factura (0 si no tiene).
+     */
+    public final long invoiceId;
+
+    /**
+     * Fecha formateada ("20 Ene 2025"), o null si la factura no tiene fecha.
+     */
+    public final String fechaTexto;
+
+    /**
+     * Importe formateado con dos decimales y símbolo de euro.
+     */
+    public final String importeTexto;
+
+    /**
+     * Ordinal del {@link InvoiceState} resuelto.
+     */
+    public final int estadoOrdinal;
+
+    /**
+     * Texto del estado como recurso, o 0 para mostrar {@link #estadoTextoLibre}.
+     */
+    @StringRes
+    public final int estadoTextoRes;
+
+    /**
+     * Texto del servidor para estados desconocidos (solo si estadoTextoRes es 0).
+     */
+    public final String estadoTextoLibre;
+
+    @ColorRes
+    public final int estadoColorRes;
+
+    public final boolean estadoVisible;
+
+    // ===== Constructores =====
+
+    private InvoiceRowModel(long invoiceId, String fechaTexto, String importeTexto, InvoiceState estado,
+                            @StringRes int estadoTextoRes, String estadoTextoLibre,
+                            @ColorRes int estadoColorRes, boolean estadoVisible) {
+        this.invoiceId = invoiceId;
+        this.fechaTexto = fechaTexto;
+        this.importeTexto = importeTexto;
+        this.estadoOrdinal = estado.ordinal();
+        this.estadoTextoRes = estadoTextoRes;
+        this.estadoTextoLibre = estadoTextoLibre;
+        this.estadoColorRes = estadoColorRes;
+        this.estadoVisible = estadoVisible;
+    }
+
+    // ===== Métodos de construcción =====
+
+    /**
+     * Construye la fila de una factura. Pensado para ejecutarse fuera del hilo principal.
+     *
+     * @param factura Factura de dominio
+     * @return Modelo de fila con todos los valores resueltos
+     */
+    @NonNull
+    public static InvoiceRowModel from(@NonNull Invoice factura) {
+        String fecha = DateUtils.formatDate(factura.getInvoiceDate());
+        String importe = String.format(Locale.getDefault(), "%.2f €", factura.getInvoiceAmount());
+        InvoiceState estado = factura.getEstadoEnum();
+
+        switch (estado) {
+            case PENDING:
+                return new InvoiceRowModel(factura.getInvoiceID(), fechaOrNull(fecha), importe, estado,
+                        R.string.estado_pendiente, null, R.color.texto_alerta, true);
+            case PAID:
+                return new InvoiceRowModel(factura.getInvoiceID(), fechaOrNull(fecha), importe, estado,
+                        0, null, 0, false);
+            case CANCELLED:
+                return new InvoiceRowModel(factura.getInvoiceID(), fechaOrNull(fecha), importe, estado,
+                        R.string.estado_anulada, null, R.color.texto_alerta, true);
+            case FIXED_FEE:
+                return new InvoiceRowModel(factura.getInvoiceID(), fechaOrNull(fecha), importe, estado,
+                        R.string.estado_cuota_fija, null, android.R.color.black, true);
+            case PAYMENT_PLAN:
+                return new InvoiceRowModel(factura.getInvoiceID(), fechaOrNull(fecha), importe, estado,
+                        R.string.estado_plan_pago, null, android.R.color.black, true);
+            default:
+                return new InvoiceRowModel(factura.getInvoiceID(), fechaOrNull(fecha), importe, estado,
+                        0, factura.getInvoiceStatus(), android.R.color.black, true);
+        }
+    }
+
+    // ===== Métodos públicos =====
+
+    /**
+     * Compara los valores visibles de dos filas (para DiffUtil).
+     */
+    public boolean hasSameContent(@NonNull InvoiceRowModel other) {
+        return estadoOrdinal == other.estadoOrdinal
+                && Objects.equals(fechaTexto, other.fechaTexto)
+                && Objects.equals(importeTexto, other.importeTexto)
+                && Objects.equals(estadoTextoLibre, other.estadoTextoLibre);
+    }
+
+    // ===== Métodos privados =====
+
+    private static String fechaOrNull(String fecha) {
+        return fecha.isEmpty() ? null : fecha;
+    }
+}
@@ -0,0 +1,57 @@
+package com.nexosolar.android.ui.invoices;
+
+import com.nexosolar.android.domain.models.Invoice;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Construye y memoriza las filas de presentación de las facturas cargadas.
+ *
+ * Cada factura se formatea una sola vez por carga: los filtrados posteriores sobre el mismo
+ * índice reutilizan sus filas. La caché se asocia por identidad a las instancias de la carga
+ * actual y se descarta cuando cambia la fuente (nueva carga o revalidación).
+ *
+ * Se usa desde el hilo del ejecutor de filtrado.
+ */
+class InvoiceRowModelFactory {
+
+    // ===== Variables de instancia =====
+
+    private final Map<Invoice, InvoiceRowModel> cache = new IdentityHashMap<>();
+    private Object currentSource;
+
+    // ===== Métodos públicos =====
+
+    /**
+     * Obtiene las filas de una lista de facturas, en el mismo orden.
+     *
+     * @param facturas Facturas visibles
+     * @param source Origen de las facturas (p. ej. el índice); si cambia, se vacía la caché
+     * @return Lista nueva de filas
+     */
+    synchronized List<InvoiceRowModel> toRows(List<Invoice> facturas, Object source) {
+        if (source != currentSource) {
+            cache.clear();
+            currentSource = source;
+        }
+
+        List<InvoiceRowModel> filas = new ArrayList<>(facturas.size());
+        for (Invoice factura : facturas) {
+            InvoiceRowModel fila = cache.get(factura);
+            if (fila == null) {
+                fila = InvoiceRowModel.from(factura);
+                cache.put(factura, fila);
+            }
+            filas.add(fila);
+        }
+        return filas;
+    }
+
+    synchronized void clear() {
+        cache.clear();
+        currentSource = null;
+    }
+}
@@ -5,20 +5,34 @@ import android.os.Looper;
 import android.util.Log;
 
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
 import androidx.lifecycle.ViewModel;
+import androidx.paging.PagingData;
+import androidx.paging.PagingDataTransforms;
+import androidx.paging.PagingLiveData;
 
+import com.nexosolar.android.core.CoalescingExecutor;
 import com.nexosolar.android.core.ErrorClassifier;
 import com.nexosolar.android.domain.models.Invoice;
 import com.nexosolar.android.domain.models.InvoiceFilters;
+import com.nexosolar.android.domain.models.InvoiceIndex;
+import com.nexosolar.android.domain.models.InvoiceSummary;
+import com.nexosolar.android.domain.repository.RepositoryCallback;
+import com.nexosolar.android.domain.repository.StreamObserver;
+import com.nexosolar.android.domain.repository.Subscription;
 import com.nexosolar.android.domain.usecase.invoice.FilterInvoicesUseCase;
 import com.nexosolar.android.domain.usecase.invoice.GetInvoicesUseCase;
+import com.nexosolar.android.domain.usecase.invoice.GetPagedInvoicesUseCase;
 import com.nexosolar.android.ui.invoices.managers.InvoiceDataManager;
 import com.nexosolar.android.ui.invoices.managers.InvoiceFilterManager;
 import com.nexosolar.android.ui.invoices.managers.InvoiceStateManager;
-import com.nexosolar.android.ui.invoices.managers.InvoiceStatisticsCalculator;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -32,21 +46,45 @@ import java.util.concurrent.Executors;
  * - Actuar como facade para operaciones de alto nivel
  *
  * Sigue el patrón Facade para simplificar la interfaz hacia la UI.
+ *
+ * Modo paginado: si se dispone de GetPagedInvoicesUseCase y la caché local supera
+ * {@link #PAGING_THRESHOLD} facturas, el listado no se carga en memoria. La UI recibe páginas
+ * desde Room (ver {@link #getFacturasPaginadas()}), los filtros se aplican como parámetros de la
+ * consulta y los límites de los filtros se obtienen del resumen del listado (InvoiceSummary).
  */
 public class InvoiceViewModel extends ViewModel {
 
+    // ===== Constantes =====
+
+    /**
+     * Número de facturas en caché a partir del cual se usa el listado paginado.
+     */
+    public static final int PAGING_THRESHOLD = 2_000;
+
     // ===== Variables de instancia =====
 
     // Managers especializados (Single Responsibility Principle)
     private final InvoiceDataManager dataManager;
     private final InvoiceFilterManager filterManager;
     private final InvoiceStateManager stateManager;
-    private final InvoiceStatisticsCalculator statisticsCalculator; // Declarado como final
 
     // Utilidades de threading
-    private final ExecutorService backgroundExecutor;
+    private final CoalescingExecutor filterExecutor;
+    private final InvoiceRowModelFactory rowFactory = new InvoiceRowModelFactory();
+    private final MutableLiveData<List<InvoiceRowModel>> _filas = new MutableLiveData<>();
     private final Handler mainThreadHandler;
 
+    // Modo paginado (null si no hay listado paginado)
+    private final GetPagedInvoicesUseCase<LiveData<PagingData<Invoice>>> pagedInvoicesUseCase;
+    private final MutableLiveData<Boolean> _modoPaginado = new MutableLiveData<>(false);
+    private final MutableLiveData<InvoiceFilters> pagedFilters = new MutableLiveData<>();
+    private final LiveData<PagingData<InvoiceRowModel>> facturasPaginadas;
+    private final ExecutorService rowExecutor = Executors.newSingleThreadExecutor();
+    private volatile InvoiceSummary pagedSummary;
+
+    // Flujo de carga del listado completo (null hasta la primera carga)
+    private Subscription facturasSubscription;
+
     // Flags de control
     private boolean isFirstLoad = true;
 
@@ -60,17 +98,52 @@ public class InvoiceViewModel extends ViewModel {
      */
     public InvoiceViewModel(GetInvoicesUseCase getInvoicesUseCase,
                             FilterInvoicesUseCase filterInvoicesUseCase) {
+        this(getInvoicesUseCase, filterInvoicesUseCase, null);
+    }
+
+    /**
+     * Constructor con soporte de listado paginado.
+     *
+     * @param getInvoicesUseCase Caso de uso para obtener facturas
+     * @param filterInvoicesUseCase Caso de uso para filtrar facturas
+     * @param pagedInvoicesUseCase Caso de uso del listado paginado (null para desactivar la paginación)
+     */
+    public InvoiceViewModel(GetInvoicesUseCase getInvoicesUseCase,
+                            FilterInvoicesUseCase filterInvoicesUseCase,
+                            GetPagedInvoicesUseCase<LiveData<PagingData<Invoice>>> pagedInvoicesUseCase) {
+        this(getInvoicesUseCase, filterInvoicesUseCase, pagedInvoicesUseCase, new Handler(Looper.getMainLooper()));
+    }
+
+    /**
+     * Constructor con el Handler del hilo principal inyectado (usado en tests).
+     */
+    InvoiceViewModel(GetInvoicesUseCase getInvoicesUseCase,
+                     FilterInvoicesUseCase filterInvoicesUseCase,
+                     GetPagedInvoicesUseCase<LiveData<PagingData<Invoice>>> pagedInvoicesUseCase,
+                     Handler mainThreadHandler) {
+        this.pagedInvoicesUseCase = pagedInvoicesUseCase;
+
+        // Cada cambio de filtros crea un Pager nuevo; cachedIn conserva las páginas en rotaciones
+        this.facturasPaginadas = Transformations.switchMap(pagedFilters, filters ->
+                pagedInvoicesUseCase != null
+                        ? PagingLiveData.cachedIn(Transformations.map(
+                                pagedInvoicesUseCase.observe(filters),
+                                page -> PagingDataTransforms.map(page, rowExecutor, InvoiceRowModel::from)), this)
+                        : new MutableLiveData<PagingData<InvoiceRowModel>>());
+
         // Inicializar managers con sus responsabilidades específicas
         this.dataManager = new InvoiceDataManager(getInvoicesUseCase);
         this.filterManager = new InvoiceFilterManager(filterInvoicesUseCase);
-        this.stateManager = new InvoiceStateManager();
-
-        // CORRECCIÓN: Inicializar el statisticsCalculator
-        this.statisticsCalculator = new InvoiceStatisticsCalculator();
 
         // Configurar threading
-        this.backgroundExecutor = Executors.newSingleThreadExecutor();
-        this.mainThreadHandler = new Handler(Looper.getMainLooper());
+        this.filterExecutor = new CoalescingExecutor();
+        this.mainThreadHandler = mainThreadHandler;
+
+        this.stateManager = new InvoiceStateManager(
+                mainThreadHandler,
+                InvoiceStateManager.DEFAULT_LOADING_DELAY_MS,
+                InvoiceStateManager.DEFAULT_MIN_LOADING_MS
+        );
 
         // Cargar datos iniciales
         cargarFacturas();
@@ -88,6 +161,16 @@ public class InvoiceViewModel extends ViewModel {
         return dataManager.getInvoices();
     }
 
+    /**
+     * Obtiene las filas de presentación de la lista actual, ya formateadas en segundo plano.
+     * Se publica junto con {@link #getFacturas()} y es lo que consume el adaptador.
+     *
+     * @return LiveData con las filas visibles
+     */
+    public LiveData<List<InvoiceRowModel>> getFilas() {
+        return _filas;
+    }
+
     /**
      * Obtiene el estado actual de la UI.
      *
@@ -133,14 +216,48 @@ public class InvoiceViewModel extends ViewModel {
         return stateManager.getShowEmptyError();
     }
 
+    /**
+     * Latencia medida (ms) entre la petición de filtrado y la publicación del resultado.
+     *
+     * @return LiveData con la última latencia de filtrado
+     */
+    public LiveData<Long> getLatenciaFiltrado() {
+        return stateManager.getLastLoadLatencyMs();
+    }
+
+    /**
+     * Indica si el listado se sirve paginado desde Room.
+     *
+     * @return LiveData que pasa a true al activar el modo paginado
+     */
+    public LiveData<Boolean> getModoPaginado() {
+        return _modoPaginado;
+    }
+
+    /**
+     * Páginas de facturas filtradas, solo activas en el modo paginado.
+     *
+     * @return LiveData con las páginas para InvoicePagingAdapter
+     */
+    public LiveData<PagingData<InvoiceRowModel>> getFacturasPaginadas() {
+        return facturasPaginadas;
+    }
+
     // ===== Métodos públicos principales =====
 
     /**
      * Carga las facturas desde la fuente de datos.
      * Implementa estrategia inteligente: muestra caché inmediata si existe,
      * luego actualiza en segundo plano si es necesario.
+     * En el modo paginado la petición viene del usuario (reintento), por lo que se fuerza
+     * la sincronización aunque la caché siga vigente.
      */
     public void cargarFacturas() {
+        if (isPaginado()) {
+            sincronizarModoPaginado(true);
+            return;
+        }
+
         // Mostrar caché inmediata si existe (mejor UX)
         if (dataManager.hasCachedData() && !isFirstLoad) {
             stateManager.showData();
@@ -150,84 +267,185 @@ public class InvoiceViewModel extends ViewModel {
         // Primera carga o sin caché: mostrar loading
         stateManager.showLoading();
 
-        dataManager.loadInvoices(new InvoiceDataManager.LoadCallback() {
+        if (pagedInvoicesUseCase != null && isFirstLoad) {
+            // Consulta agregada barata: decide si el listado cabe en memoria o se pagina
+            pagedInvoicesUseCase.getSummary(new RepositoryCallback<InvoiceSummary>() {
+                @Override
+                public void onSuccess(InvoiceSummary summary) {
+                    mainThreadHandler.post(() -> {
+                        if (summary != null && summary.getCount() >= PAGING_THRESHOLD) {
+                            activarModoPaginado(summary);
+                        } else {
+                            cargarListaCompleta();
+                        }
+                    });
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    mainThreadHandler.post(() -> cargarListaCompleta());
+                }
+            });
+            return;
+        }
+
+        cargarListaCompleta();
+    }
+
+    /**
+     * Carga el listado completo en memoria (conjuntos pequeños o sin repositorio paginado).
+     * La caché local se pinta en cuanto llega y los datos de red, si cambian algo, se
+     * publican como una segunda emisión del mismo flujo, sin recargar.
+     */
+    private void cargarListaCompleta() {
+        if (facturasSubscription != null) {
+            facturasSubscription.cancel();
+        }
+
+        facturasSubscription = dataManager.observeInvoices(false, new StreamObserver<List<Invoice>>() {
+            // Solo se lee y escribe desde el hilo principal
+            private boolean datosMostrados;
+
             @Override
-            public void onSuccess(List<Invoice> invoices) {
-                mainThreadHandler.post(() -> {
-                    isFirstLoad = false;
+            public void onCache(List<Invoice> invoices) {
+                mainThreadHandler.post(() -> mostrar(invoices));
+            }
 
-                    if (invoices == null || invoices.isEmpty()) {
-                        stateManager.showEmpty();
-                    } else {
-                        // Inicializar filtros con valores calculados de los datos
-                        filterManager.resetFilters(invoices);
-                        stateManager.showData();
-                    }
-                });
+            @Override
+            public void onNetwork(List<Invoice> invoices) {
+                mainThreadHandler.post(() -> mostrar(invoices));
             }
 
             @Override
             public void onError(Throwable error) {
                 mainThreadHandler.post(() -> {
                     isFirstLoad = false;
-                    handleLoadError(error);
+                    if (datosMostrados) {
+                        // La caché ya está en pantalla: se mantiene sin interrumpir al usuario
+                        Log.w("VIEWMODEL", "No se pudo sincronizar con la red", error);
+                    } else {
+                        handleLoadError(error);
+                    }
                 });
             }
+
+            private void mostrar(List<Invoice> invoices) {
+                isFirstLoad = false;
+                datosMostrados = true;
+                publicarFacturas(invoices);
+            }
         });
     }
 
+    /**
+     * Publica una emisión del listado (caché o red).
+     * Si el usuario aplicó filtros, se mantienen y se reaplican sobre el nuevo índice; en
+     * otro caso (primera carga incluida) se recalculan los límites y se muestra la lista completa.
+     */
+    private void publicarFacturas(List<Invoice> invoices) {
+        if (invoices == null || invoices.isEmpty()) {
+            filterExecutor.invalidate();
+            rowFactory.clear();
+            dataManager.setInvoices(new ArrayList<>());
+            _filas.setValue(new ArrayList<>());
+            stateManager.showEmpty();
+            return;
+        }
+
+        InvoiceFilters aplicados = filterManager.getAppliedFilters();
+        if (aplicados != null) {
+            actualizarFiltros(aplicados);
+        } else {
+            // Inicializar filtros con valores calculados de los datos
+            filterManager.resetFilters(getMaxImporte());
+            publicarEnSegundoPlano(() -> invoices);
+        }
+    }
+
     /**
      * Aplica nuevos filtros a la lista de facturas.
-     * La operación de filtrado se ejecuta en segundo plano.
+     * La operación de filtrado se ejecuta en segundo plano. El shimmer solo aparece si el
+     * resultado tarda más que el umbral de InvoiceStateManager; los filtrados instantáneos
+     * se muestran directamente.
+     *
+     * Las peticiones siguen la política "la última gana": una petición nueva cancela la
+     * pendiente o en curso, y cualquier resultado de una generación superada se descarta
+     * antes de llegar a dataManager.setInvoices().
      *
      * @param filters Filtros a aplicar
      */
     public void actualizarFiltros(InvoiceFilters filters) {
         Log.d("VIEWMODEL", "Iniciando actualizarFiltros");
 
-        filterManager.updateFilters(filters);
-        stateManager.showLoading();
-
-        // Pequeño delay para que se muestre el shimmer antes de procesar
-        mainThreadHandler.postDelayed(() -> {
-            backgroundExecutor.execute(() -> {
-                try {
-                    Log.d("VIEWMODEL", "Procesando filtros en background");
-                    Thread.sleep(300); // 0.3 segundo para ver claramente el shimmer
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
-                }
+        if (isPaginado()) {
+            // Los filtros pasan a la consulta SQL; Paging carga solo la primera ventana
+            filterManager.updateFilters(filters);
+            if (filterManager.getValidationError().getValue() == null) {
+                filterManager.markCurrentAsApplied();
+                pagedFilters.setValue(filters);
+            }
+            return;
+        }
 
-                List<Invoice> filtered = filterManager.applyCurrentFilters(
-                        dataManager.getOriginalInvoices()
-                );
+        filterManager.updateFilters(filters);
+        if (filterManager.getValidationError().getValue() == null) {
+            filterManager.markCurrentAsApplied();
+        }
+        stateManager.beginDeferredLoading();
 
-                Log.d("VIEWMODEL", "Filtrado completado: " + filtered.size() + " elementos");
+        publicarEnSegundoPlano(() -> filterManager.applyCurrentFilters(dataManager.getInvoiceIndex()));
+    }
 
-                mainThreadHandler.post(() -> {
-                    dataManager.setInvoices(filtered);
+    /**
+     * Calcula en segundo plano la lista visible y sus filas de presentación, y la publica.
+     * Comparte la política "la última gana" del filtrado: una petición posterior descarta esta.
+     *
+     * @param visibles Cálculo de las facturas a mostrar (se ejecuta en el hilo de filtrado)
+     */
+    private void publicarEnSegundoPlano(Callable<List<Invoice>> visibles) {
+        InvoiceIndex source = dataManager.getInvoiceIndex();
+
+        filterExecutor.submit(
+                () -> {
+                    List<Invoice> facturas = visibles.call();
+                    return new ListadoVisible(facturas, rowFactory.toRows(facturas, source));
+                },
+                new CoalescingExecutor.ResultHandler<ListadoVisible>() {
+                    @Override
+                    public void onResult(ListadoVisible listado, long generation) {
+                        Log.d("VIEWMODEL", "Filtrado completado: " + listado.facturas.size()
+                                + " elementos (generación " + generation + ")");
+                        mainThreadHandler.post(() -> publishFilterResult(listado, generation));
+                    }
 
-                    if (filtered.isEmpty()) {
-                        stateManager.showEmpty();
-                        Log.d("VIEWMODEL", "Mostrando estado EMPTY");
-                    } else {
-                        stateManager.showData();
-                        Log.d("VIEWMODEL", "Mostrando estado DATA");
+                    @Override
+                    public void onError(Throwable error, long generation) {
+                        Log.e("VIEWMODEL", "Error aplicando filtros", error);
+                        mainThreadHandler.post(() -> {
+                            if (filterExecutor.isCurrent(generation)) {
+                                stateManager.completeDeferredLoading(stateManager::showData);
+                            }
+                        });
                     }
                 });
-            });
-        }, 300); // Pequeño delay de 300ms para asegurar que el loading se muestra
     }
 
-
     /**
      * Resetea todos los filtros a valores por defecto.
      * Restaura la lista completa de facturas.
      */
     public void resetearFiltros() {
-        filterManager.resetFilters(dataManager.getOriginalInvoices());
-        dataManager.setInvoices(dataManager.getOriginalInvoices());
-        stateManager.showData();
+        if (isPaginado()) {
+            filterManager.resetFilters(pagedSummary.getMaxAmount());
+            pagedFilters.setValue(filterManager.getCurrentFilters().getValue());
+            stateManager.showData();
+            return;
+        }
+
+        // La publicación sustituye a cualquier filtrado en curso
+        List<Invoice> originales = dataManager.getOriginalInvoices();
+        filterManager.resetFilters(getMaxImporte());
+        publicarEnSegundoPlano(() -> originales);
     }
 
     /**
@@ -243,18 +461,28 @@ public class InvoiceViewModel extends ViewModel {
     // ===== Métodos de utilidad (delegados a managers) =====
 
     /**
-     * Calcula el importe máximo de las facturas originales.
+     * Obtiene el importe máximo de las facturas originales (O(1), sin recorrer la lista).
      */
     public float getMaxImporte() {
-        return statisticsCalculator.calculateMaxAmount(dataManager.getOriginalInvoices());
+        if (isPaginado()) {
+            return pagedSummary.getMaxAmount();
+        }
+        // El límite superior del slider nunca es negativo
+        return Math.max(0f, dataManager.getStatistics().getMaxAmount());
     }
 
     public LocalDate getOldestDate() {
-        return statisticsCalculator.calculateOldestDate(dataManager.getOriginalInvoices());
+        if (isPaginado()) {
+            return pagedSummary.getOldestDate();
+        }
+        return dataManager.getStatistics().getOldestDate();
     }
 
     public LocalDate getNewestDate() {
-        return statisticsCalculator.calculateNewestDate(dataManager.getOriginalInvoices());
+        if (isPaginado()) {
+            return pagedSummary.getNewestDate();
+        }
+        return dataManager.getStatistics().getNewestDate();
     }
 
     /**
@@ -263,7 +491,10 @@ public class InvoiceViewModel extends ViewModel {
      * @return true si hay al menos una factura cargada
      */
     public boolean hayDatosCargados() {
-        return !dataManager.getOriginalInvoices().isEmpty();
+        if (isPaginado()) {
+            return !pagedSummary.isEmpty();
+        }
+        return !dataManager.getStatistics().isEmpty();
     }
 
     /**
@@ -277,6 +508,115 @@ public class InvoiceViewModel extends ViewModel {
 
     // ===== Métodos privados de ayuda =====
 
+    private boolean isPaginado() {
+        return pagedSummary != null;
+    }
+
+    /**
+     * Activa el listado paginado a partir del resumen de la caché local.
+     * Los filtros por defecto se calculan con el resumen y se publica la primera consulta.
+     */
+    private void activarModoPaginado(InvoiceSummary summary) {
+        isFirstLoad = false;
+        pagedSummary = summary;
+
+        filterManager.resetFilters(summary.getMaxAmount());
+        pagedFilters.setValue(filterManager.getCurrentFilters().getValue());
+        _modoPaginado.setValue(true);
+        stateManager.showData();
+
+        sincronizarModoPaginado(false);
+    }
+
+    /**
+     * Revalida la caché local en segundo plano respetando su TTL (salvo que se fuerce).
+     * Room invalida las páginas visibles al cambiar la tabla; si la sincronización cambió
+     * algo, se recalcula el resumen y con él los límites de los filtros por defecto.
+     *
+     * @param forzar true si el usuario pidió actualizar (ignora el TTL)
+     */
+    private void sincronizarModoPaginado(boolean forzar) {
+        dataManager.syncWithoutLoading(forzar, new RepositoryCallback<Boolean>() {
+            @Override
+            public void onSuccess(Boolean cambiado) {
+                if (!Boolean.TRUE.equals(cambiado)) {
+                    return;
+                }
+                pagedInvoicesUseCase.getSummary(new RepositoryCallback<InvoiceSummary>() {
+                    @Override
+                    public void onSuccess(InvoiceSummary summary) {
+                        if (summary != null) {
+                            mainThreadHandler.post(() -> actualizarResumenPaginado(summary));
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable error) {
+                        Log.w("VIEWMODEL", "No se pudo recalcular el resumen paginado", error);
+                    }
+                });
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                // Con caché local no se bloquea la pantalla con un error
+                Log.w("VIEWMODEL", "Error sincronizando en modo paginado", error);
+            }
+        });
+    }
+
+    /**
+     * Sustituye el resumen del modo paginado tras una sincronización.
+     * Si el usuario no aplicó filtros, los filtros por defecto se recalculan con los nuevos
+     * límites (importe máximo); los límites de fecha se leen del resumen al abrir los filtros.
+     * Los filtros aplicados por el usuario se mantienen.
+     */
+    private void actualizarResumenPaginado(InvoiceSummary summary) {
+        pagedSummary = summary;
+
+        if (filterManager.getAppliedFilters() == null) {
+            filterManager.resetFilters(summary.getMaxAmount());
+            InvoiceFilters porDefecto = filterManager.getCurrentFilters().getValue();
+            if (!Objects.equals(porDefecto, pagedFilters.getValue())) {
+                pagedFilters.setValue(porDefecto);
+            }
+        }
+    }
+
+    /**
+     * Publica el resultado de un filtrado en el hilo principal.
+     * Se comprueba la generación dos veces: al llegar al hilo principal y justo antes de
+     * publicar, ya que completeDeferredLoading puede retrasar la publicación para respetar
+     * el tiempo mínimo del shimmer.
+     *
+     * @param listado Facturas visibles y sus filas
+     * @param generation Generación de la petición que produjo el resultado
+     */
+    private void publishFilterResult(ListadoVisible listado, long generation) {
+        if (!filterExecutor.isCurrent(generation)) {
+            Log.d("VIEWMODEL", "Descartado resultado obsoleto (generación " + generation + ")");
+            return;
+        }
+
+        stateManager.completeDeferredLoading(() -> {
+            if (!filterExecutor.isCurrent(generation)) {
+                Log.d("VIEWMODEL", "Descartado resultado obsoleto (generación " + generation + ")");
+                return;
+            }
+
+            dataManager.setInvoices(listado.facturas);
+            _filas.setValue(listado.filas);
+
+            if (listado.facturas.isEmpty()) {
+                stateManager.showEmpty();
+                Log.d("VIEWMODEL", "Mostrando estado EMPTY");
+            } else {
+                stateManager.showData();
+                Log.d("VIEWMODEL", "Mostrando estado DATA");
+            }
+        });
+    }
+
     /**
      * Maneja errores de carga de forma inteligente.
      * Distingue entre errores recuperables y no recuperables.
@@ -339,12 +679,32 @@ public class InvoiceViewModel extends ViewModel {
         super.onCleared();
 
         // Limpiar recursos para evitar memory leaks
-        if (backgroundExecutor != null && !backgroundExecutor.isShutdown()) {
-            backgroundExecutor.shutdown();
+        if (facturasSubscription != null) {
+            facturasSubscription.cancel();
+        }
+
+        if (filterExecutor != null && !filterExecutor.isShutdown()) {
+            filterExecutor.shutdown();
         }
+        rowExecutor.shutdown();
 
         if (mainThreadHandler != null) {
             mainThreadHandler.removeCallbacksAndMessages(null);
         }
     }
-}
\ No newline at end of file
+
+    // ===== Clases internas =====
+
+    /**
+     * Resultado de una publicación: facturas visibles y sus filas, en el mismo orden.
+     */
+    private static final class ListadoVisible {
+        final List<Invoice> facturas;
+        final List<InvoiceRowModel> filas;
+
+        ListadoVisible(List<Invoice> facturas, List<InvoiceRowModel> filas) {
+            this.facturas = facturas;
+            this.filas = filas;
+        }
+    }
+}
@@ -2,27 +2,37 @@ package com.nexosolar.android.ui.invoices;
 
 import androidx.annotation.NonNull;
 import androidx.lifecycle.ViewModel;
+import androidx.lifecycle.LiveData;
 import androidx.lifecycle.ViewModelProvider;
+import androidx.paging.PagingData;
 
-import com.nexosolar.android.domain.repository.InvoiceRepository;
+import com.nexosolar.android.domain.models.Invoice;
 import com.nexosolar.android.domain.usecase.invoice.FilterInvoicesUseCase;
 import com.nexosolar.android.domain.usecase.invoice.GetInvoicesUseCase;
+import com.nexosolar.android.domain.usecase.invoice.GetPagedInvoicesUseCase;
 
 // Estructura correcta de tu Factory (file:24)
 public class InvoiceViewModelFactory implements ViewModelProvider.Factory {
     private final GetInvoicesUseCase getInvoicesUseCase;
     private final FilterInvoicesUseCase filterInvoicesUseCase;
+    private final GetPagedInvoicesUseCase<LiveData<PagingData<Invoice>>> pagedInvoicesUseCase;
 
     public InvoiceViewModelFactory(GetInvoicesUseCase getInvoices, FilterInvoicesUseCase filterInvoices) {
+        this(getInvoices, filterInvoices, null);
+    }
+
+    public InvoiceViewModelFactory(GetInvoicesUseCase getInvoices, FilterInvoicesUseCase filterInvoices,
+                                   GetPagedInvoicesUseCase<LiveData<PagingData<Invoice>>> pagedInvoices) {
         this.getInvoicesUseCase = getInvoices;
         this.filterInvoicesUseCase = filterInvoices;
+        this.pagedInvoicesUseCase = pagedInvoices;
     }
 
     @NonNull
     @Override
     @SuppressWarnings("unchecked")
     public <T extends ViewModel> T create(@NonNull Class<T> modelClass) {
-        return (T) new InvoiceViewModel(getInvoicesUseCase, filterInvoicesUseCase);
+        return (T) new InvoiceViewModel(getInvoicesUseCase, filterInvoicesUseCase, pagedInvoicesUseCase);
     }
 }
 
@@ -4,7 +4,12 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.LiveData;
 
 import com.nexosolar.android.domain.models.Invoice;
+import com.nexosolar.android.domain.models.InvoiceIndex;
+import com.nexosolar.android.domain.models.InvoiceStatistics;
+import com.nexosolar.android.domain.models.InvoiceTimeCube;
 import com.nexosolar.android.domain.repository.RepositoryCallback;
+import com.nexosolar.android.domain.repository.StreamObserver;
+import com.nexosolar.android.domain.repository.Subscription;
 import com.nexosolar.android.domain.usecase.invoice.GetInvoicesUseCase;
 
 import java.util.ArrayList;
@@ -23,20 +28,14 @@ import java.util.List;
  */
 public class InvoiceDataManager {
 
-    // ===== Interfaces internas =====
-
-    /**
-     * Callback para operaciones asíncronas de carga de datos.
-     */
-    public interface LoadCallback {
-        void onSuccess(List<Invoice> invoices);
-        void onError(Throwable error);
-    }
-
     // ===== Variables de instancia =====
 
     private final GetInvoicesUseCase getInvoicesUseCase;
     private List<Invoice> originalInvoices = new ArrayList<>();
+    private volatile InvoiceIndex invoiceIndex = InvoiceIndex.empty();
+    // Cubo construido bajo demanda sobre timeCubeIndex (protegido por this)
+    private InvoiceTimeCube timeCube;
+    private InvoiceIndex timeCubeIndex;
     private final MutableLiveData<List<Invoice>> _invoices = new MutableLiveData<>();
 
     // ===== Constructores =====
@@ -59,7 +58,7 @@ public class InvoiceDataManager {
 
     /**
      * Obtiene la lista original completa de facturas (sin filtros).
-     * Útil para operaciones de filtrado y cálculos estadísticos.
+     * Para agregados usar {@link #getStatistics()}, que no copia la lista.
      *
      * @return Lista inmutable de facturas originales
      */
@@ -67,46 +66,79 @@ public class InvoiceDataManager {
         return new ArrayList<>(originalInvoices);
     }
 
-    // ===== Métodos públicos de operación =====
+    /**
+     * Obtiene el índice columnar construido sobre las facturas originales.
+     * Se reconstruye una única vez por carga, por lo que puede usarse para filtrar
+     * repetidamente sin copiar la lista original.
+     *
+     * @return Índice actual (vacío si no hay datos cargados)
+     */
+    public InvoiceIndex getInvoiceIndex() {
+        return invoiceIndex;
+    }
 
     /**
-     * Carga facturas desde la fuente de datos.
-     * Implementa estrategia de caché: primero caché local, luego red si es necesario.
+     * Obtiene las estadísticas de las facturas originales (importes, fechas y estados).
+     * Se calculan junto con el índice en cada carga, por lo que la consulta es O(1)
+     * y no copia la lista original.
      *
-     * @param callback Callback para notificar resultado de la operación
+     * @return Estadísticas actuales (vacías si no hay datos cargados)
      */
-    public void loadInvoices(LoadCallback callback) {
-        // Primero verificar si ya tenemos datos en memoria
-        boolean hasCachedData = !originalInvoices.isEmpty();
-
-        if (hasCachedData) {
-            // Notificar inmediatamente con datos cacheados
-            callback.onSuccess(new ArrayList<>(originalInvoices));
-            return;
+    public InvoiceStatistics getStatistics() {
+        return invoiceIndex.getStatistics();
+    }
+
+    /**
+     * Obtiene el cubo de sumas prefijas por día y estado de las facturas originales.
+     * Responde totales y recuentos de cualquier ventana de fechas y selección de estados
+     * en O(1). Se construye en la primera consulta tras cada carga, no en la carga, para no
+     * reservar su memoria si nadie lo usa.
+     *
+     * @return Cubo actual (vacío si no hay datos cargados)
+     */
+    public synchronized InvoiceTimeCube getTimeCube() {
+        InvoiceIndex index = invoiceIndex;
+        if (timeCube == null || timeCubeIndex != index) {
+            timeCube = InvoiceTimeCube.build(index);
+            timeCubeIndex = index;
         }
+        return timeCube;
+    }
 
-        // Si no hay caché, cargar desde use case
-        getInvoicesUseCase.invoke(new RepositoryCallback<List<Invoice>>() {
-            @Override
-            public void onSuccess(List<Invoice> result) {
-                // Guardar copia original para operaciones posteriores
-                originalInvoices = new ArrayList<>(result);
+    // ===== Métodos públicos de operación =====
 
-                // Notificar a observadores internos
-                _invoices.postValue(result);
+    /**
+     * Observa las facturas: la caché local llega por onCache en cuanto está disponible y los
+     * datos sincronizados con la red, por onNetwork. Cada emisión sustituye la copia original
+     * y el índice antes de llegar al observador; publicar el resultado (con o sin filtros)
+     * queda en manos del llamador.
+     *
+     * @param forceRefresh true para sincronizar con la red aunque la caché siga vigente
+     * @param observer Observador de las emisiones
+     * @return Suscripción para cancelar el flujo
+     */
+    public Subscription observeInvoices(boolean forceRefresh, StreamObserver<List<Invoice>> observer) {
+        return getInvoicesUseCase.observe(forceRefresh, new StreamObserver<List<Invoice>>() {
+            @Override
+            public void onCache(List<Invoice> data) {
+                updateOriginalInvoices(data);
+                observer.onCache(data);
+            }
 
-                // Notificar al callback externo
-                if (callback != null) {
-                    callback.onSuccess(result);
-                }
+            @Override
+            public void onNetwork(List<Invoice> data) {
+                updateOriginalInvoices(data);
+                observer.onNetwork(data);
             }
 
             @Override
             public void onError(Throwable error) {
-                // Notificar error al callback
-                if (callback != null) {
-                    callback.onError(error);
-                }
+                observer.onError(error);
+            }
+
+            @Override
+            public void onComplete() {
+                observer.onComplete();
             }
         });
     }
@@ -128,29 +160,20 @@ public class InvoiceDataManager {
      */
     public void updateOriginalInvoices(List<Invoice> invoices) {
         this.originalInvoices = new ArrayList<>(invoices);
+        this.invoiceIndex = InvoiceIndex.build(originalInvoices);
+        releaseTimeCube();
     }
 
     /**
-     * Fuerza una recarga desde la fuente remota.
-     * Ignora caché local y solicita datos frescos.
+     * Revalida la caché local con la fuente remota sin cargar las facturas en memoria.
+     * Usado en el modo paginado: Room invalida las páginas al cambiar la tabla.
+     * Respeta el TTL de la caché salvo que se fuerce.
      *
-     * @param callback Callback para notificar resultado
+     * @param forceRefresh true para sincronizar aunque la caché siga vigente
+     * @param callback Recibe true si la sincronización cambió la caché
      */
-    public void refreshInvoices(LoadCallback callback) {
-        getInvoicesUseCase.refresh(new RepositoryCallback<Boolean>() {
-            @Override
-            public void onSuccess(Boolean success) {
-                // Después de refrescar, cargar datos actualizados
-                loadInvoices(callback);
-            }
-
-            @Override
-            public void onError(Throwable error) {
-                if (callback != null) {
-                    callback.onError(error);
-                }
-            }
-        });
+    public void syncWithoutLoading(boolean forceRefresh, RepositoryCallback<Boolean> callback) {
+        getInvoicesUseCase.revalidate(forceRefresh, callback);
     }
 
     // ===== Métodos de consulta =====
@@ -185,6 +208,18 @@ public class InvoiceDataManager {
      */
     public void clearAllData() {
         originalInvoices.clear();
+        invoiceIndex = InvoiceIndex.empty();
+        releaseTimeCube();
         _invoices.postValue(new ArrayList<>());
     }
+
+    // ===== Métodos privados =====
+
+    /**
+     * Descarta el cubo del listado anterior; se reconstruye en la siguiente consulta.
+     */
+    private synchronized void releaseTimeCube() {
+        timeCube = null;
+        timeCubeIndex = null;
+    }
 }
\ No newline at end of file
@@ -4,30 +4,58 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
 import com.nexosolar.android.core.DateValidator;
+import com.nexosolar.android.core.LruCache;
 import com.nexosolar.android.domain.models.Invoice;
 import com.nexosolar.android.domain.models.InvoiceFilters;
+import com.nexosolar.android.domain.models.InvoiceIndex;
 import com.nexosolar.android.domain.usecase.invoice.FilterInvoicesUseCase;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Gestor especializado en el ESTADO de los filtros.
  *
  * - SRP: Solo gestiona el estado y orquesta el filtrado.
- * - Delegación: Usa DateValidator para validación y InvoiceStatisticsCalculator para valores por defecto.
+ * - Delegación: Usa DateValidator para validación; los valores por defecto llegan ya calculados (InvoiceStatistics).
+ * - Incremental: Recuerda la última pasada y, si los nuevos filtros solo estrechan los rangos,
+ *   refina el resultado anterior en lugar de recorrer de nuevo todo el índice.
+ * - Memoización: Guarda en una caché LRU las selecciones por filtros (InvoiceFilters es
+ *   inmutable y con igualdad estructural), válida mientras no cambie el índice. Volver a
+ *   un preset o reaplicar los mismos filtros no recorre el índice.
  */
 public class InvoiceFilterManager {
 
+    /**
+     * Número de selecciones recordadas por versión del conjunto de datos.
+     */
+    static final int RESULT_CACHE_SIZE = 16;
+
     private final FilterInvoicesUseCase filterUseCase;
-    private final InvoiceStatisticsCalculator calculator;
 
     private final MutableLiveData<InvoiceFilters> _currentFilters = new MutableLiveData<>();
     private final MutableLiveData<String> _validationError = new MutableLiveData<>();
 
+    // Filtros por defecto vigentes (los del último reset): no cuentan como filtros activos
+    private InvoiceFilters defaultFilters;
+
+    // Últimos filtros aplicados explícitamente por el usuario (null = ninguno desde el último reset)
+    private InvoiceFilters appliedFilters;
+
+    // Última pasada de filtrado (solo se accede desde el hilo de filtrado)
+    private InvoiceIndex lastIndex;
+    private InvoiceFilters lastApplied;
+    private BitSet lastSelection;
+
+    // Selecciones ya calculadas sobre cachedIndex (la identidad del índice es la versión de los datos)
+    private final LruCache<InvoiceFilters, BitSet> resultCache = new LruCache<>(RESULT_CACHE_SIZE);
+    private InvoiceIndex cachedIndex;
+
     public InvoiceFilterManager(FilterInvoicesUseCase filterUseCase) {
         this.filterUseCase = filterUseCase;
-        this.calculator = new InvoiceStatisticsCalculator(); // Podría inyectarse también
         initializeDefaultFilters();
     }
 
@@ -58,60 +86,156 @@ public class InvoiceFilterManager {
         }
     }
 
-    public void resetFilters(List<Invoice> invoices) {
-        InvoiceFilters defaultFilters = new InvoiceFilters();
-
-        defaultFilters.setStartDate(null);
-        defaultFilters.setEndDate(null);
-        defaultFilters.setMinAmount(0.0);
-
-        // USO DE CALCULATOR: Delegamos el cálculo del máximo
-        float maxAmount = calculator.calculateMaxAmount(invoices);
-        defaultFilters.setMaxAmount((double) maxAmount);
-
-        defaultFilters.setFilteredStates(new ArrayList<>());
+    /**
+     * Restablece los filtros por defecto con un importe máximo ya conocido
+     * (InvoiceStatistics en memoria o InvoiceSummary en el modo paginado).
+     * Los filtros por defecto no filtran por estado (estados null) ni por fecha.
+     *
+     * @param maxAmount Importe máximo del conjunto de facturas
+     */
+    public void resetFilters(float maxAmount) {
+        defaultFilters = new InvoiceFilters(null, null, null, 0.0, (double) maxAmount);
+        appliedFilters = null;
 
         _currentFilters.setValue(defaultFilters);
         _validationError.setValue(null);
     }
 
+    /**
+     * Registra los filtros actuales como aplicados por el usuario, para reaplicarlos
+     * cuando llegue una nueva emisión del listado.
+     */
+    public void markCurrentAsApplied() {
+        appliedFilters = _currentFilters.getValue();
+    }
+
     // ===== Ejecución de Filtros =====
 
-    public List<Invoice> applyCurrentFilters(List<Invoice> invoices) {
+    /**
+     * Aplica los filtros actuales sobre el índice columnar de facturas.
+     * El filtrado produce un conjunto de posiciones y solo al final se materializan
+     * las facturas seleccionadas.
+     *
+     * Compara los filtros con los de la pasada anterior: si el índice y los estados son los
+     * mismos y los rangos solo se estrechan, refina el resultado previo. Si algún rango se
+     * amplía o cambia la selección de estados, realiza una pasada completa. Antes de ambas
+     * consulta la caché de selecciones: si los mismos filtros ya se aplicaron sobre este
+     * índice, solo se materializa el resultado guardado.
+     *
+     * @param index Índice construido sobre las facturas originales
+     * @return Lista filtrada según los filtros actuales
+     */
+    public synchronized List<Invoice> applyCurrentFilters(InvoiceIndex index) {
+        // Los filtros son inmutables: no hace falta instantánea frente a cambios de la UI
         InvoiceFilters filters = _currentFilters.getValue();
-        if (filters == null || invoices == null || invoices.isEmpty()) {
+        if (filters == null || index == null || index.isEmpty()) {
+            clearLastPass();
             return new ArrayList<>();
         }
 
-        return filterUseCase.execute(
-                invoices,
-                filters.getFilteredStates(),
-                filters.getStartDate(),
-                filters.getEndDate(),
-                filters.getMinAmount(),
-                filters.getMaxAmount()
-        );
+        if (index != cachedIndex) {
+            resultCache.clear();
+            cachedIndex = index;
+        }
+
+        BitSet selection = resultCache.get(filters);
+        if (selection == null) {
+            if (canRefine(index, filters)) {
+                selection = filterUseCase.refine(index, lastSelection, filters);
+            } else {
+                selection = filterUseCase.execute(index, filters);
+            }
+            // Las selecciones no se modifican una vez guardadas (refine crea una nueva)
+            resultCache.put(filters, selection);
+        }
+
+        lastIndex = index;
+        lastApplied = filters;
+        lastSelection = selection;
+
+        return index.materialize(selection);
     }
 
     // ===== Métodos de Consulta de Estado =====
 
+    /**
+     * Indica si los filtros actuales difieren de los por defecto.
+     * Los filtros de {@link #resetFilters(float)} acotan el importe al máximo del listado,
+     * pero siguen siendo los por defecto: no cuentan como activos.
+     */
     public boolean hasActiveFilters() {
         InvoiceFilters filters = _currentFilters.getValue();
-        if (filters == null) return false;
+        return filters != null && !filters.equals(defaultFilters);
+    }
 
-        if (filters.getFilteredStates() != null && !filters.getFilteredStates().isEmpty()) return true;
-        if (filters.getStartDate() != null || filters.getEndDate() != null) return true;
+    /**
+     * @return Filtros aplicados por el usuario que hay que mantener, o null si no aplicó
+     *         ninguno o los aplicados equivalen a los por defecto
+     */
+    public InvoiceFilters getAppliedFilters() {
+        if (appliedFilters == null || appliedFilters.equals(defaultFilters)) {
+            return null;
+        }
+        return appliedFilters;
+    }
+
+    // ===== Métodos privados =====
+
+    /**
+     * Indica si los nuevos filtros pueden resolverse refinando la pasada anterior.
+     * Requiere el mismo índice, el mismo conjunto de estados y que cada rango
+     * esté contenido en el rango anterior.
+     */
+    private boolean canRefine(InvoiceIndex index, InvoiceFilters filters) {
+        if (lastIndex != index || lastApplied == null || lastSelection == null) {
+            return false;
+        }
+        return Objects.equals(lastApplied.getStates(), filters.getStates())
+                && isDateRangeNarrowing(lastApplied, filters)
+                && isAmountRangeNarrowing(lastApplied, filters);
+    }
+
+    /**
+     * Un límite null equivale a rango abierto. Pasar de un límite concreto a null amplía
+     * el rango (además vuelven a entrar las facturas sin fecha).
+     */
+    private boolean isDateRangeNarrowing(InvoiceFilters previous, InvoiceFilters next) {
+        LocalDate prevStart = previous.getStartDate();
+        LocalDate prevEnd = previous.getEndDate();
+        LocalDate nextStart = next.getStartDate();
+        LocalDate nextEnd = next.getEndDate();
+
+        boolean startOk = prevStart == null || (nextStart != null && !nextStart.isBefore(prevStart));
+        boolean endOk = prevEnd == null || (nextEnd != null && !nextEnd.isAfter(prevEnd));
+        return startOk && endOk;
+    }
+
+    private boolean isAmountRangeNarrowing(InvoiceFilters previous, InvoiceFilters next) {
+        Double prevMin = previous.getMinAmount();
+        Double prevMax = previous.getMaxAmount();
+        Double nextMin = next.getMinAmount();
+        Double nextMax = next.getMaxAmount();
+
+        boolean minOk = prevMin == null || (nextMin != null && nextMin >= prevMin);
+        boolean maxOk = prevMax == null || (nextMax != null && nextMax <= prevMax);
+        return minOk && maxOk;
+    }
 
-        // Comprobamos si el rango es distinto al por defecto (0 - MAX)
-        return filters.getMinAmount() > 0 ||
-                (filters.getMaxAmount() != null && filters.getMaxAmount() < Double.MAX_VALUE);
+    private void clearLastPass() {
+        lastIndex = null;
+        lastApplied = null;
+        lastSelection = null;
+        resultCache.clear();
+        cachedIndex = null;
     }
 
+    /**
+     * Filtros previos a la primera carga: sin filtro de estado ni de fecha y sin límite de
+     * importe, de modo que la primera emisión se muestra completa.
+     */
     private void initializeDefaultFilters() {
-        InvoiceFilters defaultFilters = new InvoiceFilters();
-        defaultFilters.setMinAmount(0.0);
-        defaultFilters.setMaxAmount(Double.MAX_VALUE);
-        defaultFilters.setFilteredStates(new ArrayList<>());
+        defaultFilters = new InvoiceFilters(null, null, null, 0.0, Double.MAX_VALUE);
+        appliedFilters = null;
         _currentFilters.setValue(defaultFilters);
     }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package com.nexosolar.android.ui.invoices.managers;
 
 
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.LiveData;
 
-import java.util.ArrayList;
-
 /**
  * Gestor especializado en estados de UI para la pantalla de facturas.
  *
@@ -15,6 +17,15 @@ import java.util.ArrayList;
  * - Proporcionar métodos seguros para transiciones de estado
  *
  * Implementa el patrón State para encapsular la lógica de transiciones de UI.
+ *
+ * Contrato de carga diferida (operaciones rápidas como el filtrado):
+ * - LOADING solo se muestra si el resultado no está listo tras {@code loadingDelayMs}.
+ * - Una vez visible, LOADING se mantiene al menos {@code minLoadingMs} para evitar parpadeos.
+ * - Los resultados inmediatos se aplican directamente, sin pasar por LOADING.
+ * - La latencia real desde el inicio de la operación hasta aplicar el resultado se publica
+ *   en {@link #getLastLoadLatencyMs()}.
+ * - Cualquier estado final (DATA, EMPTY o error) cancela la transición a LOADING y la
+ *   finalización que estuvieran programadas, para que no sobrescriban el estado después.
  */
 public class InvoiceStateManager {
 
@@ -30,11 +41,46 @@ public class InvoiceStateManager {
         DATA               // Datos cargados y listos para mostrar
     }
 
+    // ===== Constantes =====
+
+    /** Tiempo de gracia antes de mostrar LOADING en operaciones diferidas. */
+    public static final long DEFAULT_LOADING_DELAY_MS = 150;
+
+    /** Tiempo mínimo que LOADING permanece visible una vez mostrado. */
+    public static final long DEFAULT_MIN_LOADING_MS = 400;
+
     // ===== Variables de instancia =====
 
     private final MutableLiveData<ViewState> _currentState = new MutableLiveData<>(ViewState.LOADING);
     private final MutableLiveData<String> _errorMessage = new MutableLiveData<>();
     private final MutableLiveData<Boolean> _showEmptyError = new MutableLiveData<>(false);
+    private final MutableLiveData<Long> _lastLoadLatencyMs = new MutableLiveData<>();
+
+    // Carga diferida (todas las operaciones se ejecutan en el hilo principal)
+    private final Handler handler;
+    private final long loadingDelayMs;
+    private final long minLoadingMs;
+    private Runnable pendingLoading;
+    private Runnable pendingCompletion;
+    private long operationStartedAt = -1;
+    private long loadingShownAt = -1;
+
+    // ===== Constructores =====
+
+    public InvoiceStateManager() {
+        this(new Handler(Looper.getMainLooper()), DEFAULT_LOADING_DELAY_MS, DEFAULT_MIN_LOADING_MS);
+    }
+
+    /**
+     * @param handler Handler del hilo principal usado para programar las transiciones
+     * @param loadingDelayMs Umbral a partir del cual se muestra LOADING
+     * @param minLoadingMs Tiempo mínimo de visibilidad de LOADING una vez mostrado
+     */
+    public InvoiceStateManager(Handler handler, long loadingDelayMs, long minLoadingMs) {
+        this.handler = handler;
+        this.loadingDelayMs = loadingDelayMs;
+        this.minLoadingMs = minLoadingMs;
+    }
 
     // ===== Getters de LiveData =====
 
@@ -66,6 +112,69 @@ public class InvoiceStateManager {
         return _showEmptyError;
     }
 
+    /**
+     * Latencia (ms) de la última operación diferida: desde {@link #beginDeferredLoading()}
+     * hasta que se aplicó su resultado.
+     *
+     * @return LiveData con la última latencia medida
+     */
+    public LiveData<Long> getLastLoadLatencyMs() {
+        return _lastLoadLatencyMs;
+    }
+
+    // ===== Carga diferida =====
+
+    /**
+     * Inicia una operación cuyo resultado puede llegar rápido.
+     * Programa la transición a LOADING tras el umbral configurado; si el resultado
+     * llega antes, LOADING nunca se muestra.
+     * Si ya había una operación en curso, su resultado pendiente se descarta.
+     */
+    public void beginDeferredLoading() {
+        cancelPendingCompletion();
+        cancelPendingLoading();
+
+        operationStartedAt = SystemClock.uptimeMillis();
+
+        // Si LOADING ya está visible por una operación anterior, se mantiene tal cual
+        if (loadingShownAt >= 0) {
+            return;
+        }
+
+        pendingLoading = () -> {
+            pendingLoading = null;
+            loadingShownAt = SystemClock.uptimeMillis();
+            showLoading();
+        };
+        handler.postDelayed(pendingLoading, loadingDelayMs);
+    }
+
+    /**
+     * Completa la operación iniciada con {@link #beginDeferredLoading()}.
+     * Aplica el resultado inmediatamente si LOADING no llegó a mostrarse, o espera
+     * a que se cumpla el tiempo mínimo de visibilidad en caso contrario.
+     *
+     * @param applyResult Acción que publica el resultado y fija el estado final (DATA/EMPTY)
+     */
+    public void completeDeferredLoading(Runnable applyResult) {
+        cancelPendingLoading();
+        cancelPendingCompletion();
+
+        long remaining = loadingShownAt >= 0
+                ? minLoadingMs - (SystemClock.uptimeMillis() - loadingShownAt)
+                : 0;
+
+        if (remaining <= 0) {
+            finishDeferredLoading(applyResult);
+        } else {
+            pendingCompletion = () -> {
+                pendingCompletion = null;
+                finishDeferredLoading(applyResult);
+            };
+            handler.postDelayed(pendingCompletion, remaining);
+        }
+    }
+
     // ===== Métodos de transición de estado =====
 
     /**
@@ -84,6 +193,7 @@ public class InvoiceStateManager {
      * @param message Mensaje descriptivo del error (opcional, puede ser null)
      */
     public void showNetworkError(String message) {
+        cancelDeferredLoading();
         _currentState.setValue(ViewState.ERROR_NETWORK);
         _errorMessage.setValue(message);
         _showEmptyError.setValue(true);
@@ -95,6 +205,7 @@ public class InvoiceStateManager {
      * @param message Mensaje descriptivo del error (opcional, puede ser null)
      */
     public void showServerError(String message) {
+        cancelDeferredLoading();
         _currentState.setValue(ViewState.ERROR_SERVER);
         _errorMessage.setValue(message);
         _showEmptyError.setValue(true);
@@ -105,6 +216,7 @@ public class InvoiceStateManager {
      * Útil cuando la carga es exitosa y hay elementos para mostrar.
      */
     public void showData() {
+        cancelDeferredLoading();
         _currentState.setValue(ViewState.DATA);
         _errorMessage.setValue(null);
         _showEmptyError.setValue(false);
@@ -115,6 +227,7 @@ public class InvoiceStateManager {
      * Diferente de ERROR: aquí la operación fue exitosa pero no hay elementos.
      */
     public void showEmpty() {
+        cancelDeferredLoading();
         _currentState.setValue(ViewState.EMPTY);
         _errorMessage.setValue(null);
         _showEmptyError.setValue(false);
@@ -125,6 +238,9 @@ public class InvoiceStateManager {
      * Útil al recargar datos o cambiar configuración.
      */
     public void reset() {
+        cancelDeferredLoading();
+        operationStartedAt = -1;
+
         _currentState.setValue(ViewState.LOADING);
         _errorMessage.setValue(null);
         _showEmptyError.setValue(false);
@@ -160,7 +276,40 @@ public class InvoiceStateManager {
         return _currentState.getValue() == ViewState.DATA;
     }
 
+    // ===== Métodos privados =====
+
+    private void finishDeferredLoading(Runnable applyResult) {
+        loadingShownAt = -1;
+        applyResult.run();
+
+        if (operationStartedAt >= 0) {
+            _lastLoadLatencyMs.setValue(SystemClock.uptimeMillis() - operationStartedAt);
+            operationStartedAt = -1;
+        }
+    }
 
+    /**
+     * Cancela la transición a LOADING y la finalización programadas.
+     * La invocan los estados finales: una operación abandonada (por ejemplo, tras invalidar
+     * el filtrado) ya no tiene quién la complete y dejaría el shimmer visible.
+     */
+    private void cancelDeferredLoading() {
+        cancelPendingLoading();
+        cancelPendingCompletion();
+        loadingShownAt = -1;
+    }
 
+    private void cancelPendingLoading() {
+        if (pendingLoading != null) {
+            handler.removeCallbacks(pendingLoading);
+            pendingLoading = null;
+        }
+    }
 
+    private void cancelPendingCompletion() {
+        if (pendingCompletion != null) {
+            handler.removeCallbacks(pendingCompletion);
+            pendingCompletion = null;
+        }
+    }
 }
\ No newline at end of file
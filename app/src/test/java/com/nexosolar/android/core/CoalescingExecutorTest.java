@@ -0,0 +1,128 @@
+package com.nexosolar.android.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests unitarios para CoalescingExecutor.
+ * Verifica que solo se entrega el resultado de la última petición enviada.
+ */
+public class CoalescingExecutorTest {
+
+    private final CoalescingExecutor executor = new CoalescingExecutor();
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void submit_whenBurstOfRequests_onlyDeliversLatest() throws Exception {
+        // GIVEN: Una tarea lenta en curso que ignora la interrupción y bloquea el hilo
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(1);
+        List<Integer> results = new CopyOnWriteArrayList<>();
+        CollectingHandler handler = new CollectingHandler(results, delivered);
+
+        executor.submit(() -> {
+            started.countDown();
+            awaitIgnoringInterrupts(release);
+            return 0;
+        }, handler);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        // WHEN: Llegan varias peticiones seguidas mientras la primera sigue en curso
+        executor.submit(() -> 1, handler);
+        executor.submit(() -> 2, handler);
+        long last = executor.submit(() -> 3, handler);
+        release.countDown();
+
+        // THEN: Las peticiones encoladas se descartan y solo se entrega la última generación
+        assertTrue("Debería entregarse el último resultado", delivered.await(1, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals("Solo la última petición debería producir resultado", 1, results.size());
+        assertEquals(Integer.valueOf(3), results.get(0));
+        assertTrue(executor.isCurrent(last));
+    }
+
+    @Test
+    public void invalidate_whenTaskInFlight_discardsResult() throws Exception {
+        // GIVEN: Una tarea en curso
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        List<Integer> results = new CopyOnWriteArrayList<>();
+
+        long generation = executor.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(200);
+            } finally {
+                finished.countDown();
+            }
+            return 1;
+        }, new CollectingHandler(results, new CountDownLatch(1)));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        // WHEN: Se invalida sin enviar una petición nueva
+        executor.invalidate();
+
+        // THEN: La tarea se interrumpe y su resultado no se entrega
+        assertTrue(finished.await(1, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertFalse("La generación invalidada no debería ser vigente", executor.isCurrent(generation));
+        assertTrue("No debería entregarse ningún resultado", results.isEmpty());
+    }
+
+    // ===== Utilidades =====
+
+    /**
+     * Espera al latch (máximo 1 s) aunque el ejecutor interrumpa la tarea al sustituirla,
+     * de modo que las peticiones siguientes quedan encoladas detrás de ella.
+     */
+    private static void awaitIgnoringInterrupts(CountDownLatch latch) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        boolean interrupted = false;
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            try {
+                if (latch.await(remaining, TimeUnit.NANOSECONDS)) break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class CollectingHandler implements CoalescingExecutor.ResultHandler<Integer> {
+        private final List<Integer> results;
+        private final CountDownLatch delivered;
+
+        CollectingHandler(List<Integer> results, CountDownLatch delivered) {
+            this.results = results;
+            this.delivered = delivered;
+        }
+
+        @Override
+        public void onResult(Integer result, long generation) {
+            results.add(result);
+            delivered.countDown();
+        }
+
+        @Override
+        public void onError(Throwable error, long generation) {
+            delivered.countDown();
+        }
+    }
+}
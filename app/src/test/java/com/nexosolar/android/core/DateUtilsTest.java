@@ -0,0 +1,55 @@
+package com.nexosolar.android.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+/**
+ * Tests unitarios para DateUtils.
+ * Verifica el formato legible de fechas y su memorización por día.
+ */
+public class DateUtilsTest {
+
+    @Test
+    public void formatDate_whenValidDate_capitalizesMonthWithoutDots() {
+        // GIVEN: Una fecha de enero
+
+        // WHEN: La formateamos
+        String result = DateUtils.formatDate(LocalDate.of(2025, 1, 20));
+
+        // THEN: El mes aparece abreviado, capitalizado y sin punto
+        assertEquals("Formato legible incorrecto", "20 Ene 2025", result);
+    }
+
+    @Test
+    public void formatDate_whenSameDayRequestedAgain_returnsCachedInstance() {
+        // GIVEN: Una fecha ya formateada
+        String first = DateUtils.formatDate(LocalDate.of(2024, 3, 5));
+
+        // WHEN: Se vuelve a pedir el mismo día con otra instancia de LocalDate
+        String second = DateUtils.formatDate(LocalDate.of(2024, 3, 5));
+
+        // THEN: Se devuelve la misma cadena memorizada
+        assertSame("El mismo día debería reutilizar la cadena memorizada", first, second);
+    }
+
+    @Test
+    public void formatDate_whenDaysShareCacheSlot_returnsCorrectText() {
+        // GIVEN: Dos fechas que ocupan la misma posición de la caché
+        LocalDate date = LocalDate.of(2024, 3, 5);
+        LocalDate collision = date.plusDays(DateUtils.FORMATTED_CACHE_SIZE);
+
+        // WHEN: Se formatean alternándolas
+        String first = DateUtils.formatDate(date);
+        String second = DateUtils.formatDate(collision);
+        String again = DateUtils.formatDate(date);
+
+        // THEN: Cada fecha conserva su propio texto
+        assertEquals("Primera fecha incorrecta", "05 Mar 2024", first);
+        assertEquals("Fecha en colisión incorrecta", "24 Dic 2026", second);
+        assertEquals("La sustitución no debería alterar el resultado", first, again);
+    }
+}
@@ -67,6 +67,19 @@ public class ErrorClassifierTest {
                 ErrorClassifier.ErrorType.NETWORK, result);
     }
 
+    @Test
+    public void classify_whenMalformedJson_returnsServer() {
+        // GIVEN: Respuesta recibida pero con JSON mal formado (IOException del parser)
+        IOException error = new MalformedJsonException("Unterminated string");
+
+        // WHEN: Clasificamos
+        ErrorClassifier.ErrorType result = ErrorClassifier.classify(error);
+
+        // THEN: Retorna SERVER, no NETWORK
+        assertEquals("El JSON mal formado debería clasificarse como error de SERVER",
+                ErrorClassifier.ErrorType.SERVER, result);
+    }
+
     @Test
     public void classify_whenRuntimeException_returnsUnknown() {
         // GIVEN: Excepción no relacionada con red
@@ -216,4 +229,16 @@ public class ErrorClassifierTest {
         assertEquals("Debería manejar error nulo con mensaje por defecto",
                 "Error inesperado: Desconocido", message);
     }
+
+    // ========== Utilidades ==========
+
+    /**
+     * Réplica de com.google.gson.stream.MalformedJsonException: core se clasifica por
+     * nombre de clase y no depende de Gson.
+     */
+    private static class MalformedJsonException extends IOException {
+        MalformedJsonException(String message) {
+            super(message);
+        }
+    }
 }
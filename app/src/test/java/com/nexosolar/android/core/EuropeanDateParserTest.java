@@ -0,0 +1,82 @@
+package com.nexosolar.android.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Tests unitarios para EuropeanDateParser.
+ * Verifica que el parser coincide con DateTimeFormatter("dd/MM/yyyy") y que contabiliza los errores.
+ */
+public class EuropeanDateParserTest {
+
+    @Before
+    public void setUp() {
+        EuropeanDateParser.resetValidationErrorCount();
+    }
+
+    @Test
+    public void parseEpochDay_whenValidDates_matchesLocalDate() {
+        // GIVEN: Todas las fechas entre 1899 y 2101 formateadas como dd/MM/yyyy
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+        LocalDate end = LocalDate.of(2101, 1, 1);
+
+        for (LocalDate date = LocalDate.of(1899, 1, 1); date.isBefore(end); date = date.plusDays(1)) {
+            // WHEN: Parseamos la cadena formateada
+            long epochDay = EuropeanDateParser.parseEpochDay(date.format(formatter));
+
+            // THEN: Obtenemos exactamente los mismos días desde la época
+            assertEquals("Días desde la época incorrectos para " + date, date.toEpochDay(), epochDay);
+        }
+        assertEquals("Ninguna fecha válida debería contar como error",
+                0, EuropeanDateParser.getValidationErrorCount());
+    }
+
+    @Test
+    public void parse_whenDayExceedsMonthLength_clampsLikeSmartResolver() {
+        // GIVEN: Días 29-31 inexistentes en el mes (DateTimeFormatter SMART los ajusta)
+
+        // WHEN: Parseamos las fechas
+        LocalDate april = EuropeanDateParser.parse("31/04/2024");
+        LocalDate february = EuropeanDateParser.parse("30/02/2023");
+
+        // THEN: Se ajustan al último día del mes, igual que el formatter anterior
+        assertEquals("31/04 debería ajustarse a 30/04", LocalDate.of(2024, 4, 30), april);
+        assertEquals("30/02 de un año no bisiesto debería ajustarse a 28/02",
+                LocalDate.of(2023, 2, 28), february);
+    }
+
+    @Test
+    public void parseEpochDay_whenMalformed_returnsInvalidAndCountsErrors() {
+        // GIVEN: Cadenas con formato incorrecto o valores fuera de rango
+        String[] invalid = {"", "1/1/2024", "2024-01-01", "01/13/2024", "00/01/2024",
+                "32/01/2024", "01/01/0000", "0a/01/2024", " 01/01/2024"};
+
+        // WHEN: Parseamos cada una
+        for (String text : invalid) {
+            // THEN: Se devuelve INVALID sin lanzar excepción
+            assertEquals("Debería rechazarse: '" + text + "'",
+                    EuropeanDateParser.INVALID, EuropeanDateParser.parseEpochDay(text));
+        }
+        assertEquals("Cada cadena inválida debería contarse una vez",
+                invalid.length, EuropeanDateParser.getValidationErrorCount());
+    }
+
+    @Test
+    public void parse_whenNull_returnsNullWithoutCountingError() {
+        // GIVEN: Una factura sin fecha
+
+        // WHEN: Parseamos null
+        LocalDate result = EuropeanDateParser.parse(null);
+
+        // THEN: No hay fecha ni error de validación
+        assertNull("Una fecha ausente debería devolver null", result);
+        assertEquals("Una fecha ausente no es un error de formato",
+                0, EuropeanDateParser.getValidationErrorCount());
+    }
+}
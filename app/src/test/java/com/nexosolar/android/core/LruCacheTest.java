@@ -0,0 +1,35 @@
+package com.nexosolar.android.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * Tests unitarios para LruCache.
+ */
+public class LruCacheTest {
+
+    @Test
+    public void put_whenCapacityExceeded_evictsLeastRecentlyUsed() {
+        // GIVEN: Una caché de 2 entradas con "a" usada después de "b"
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        // WHEN: Añadimos una tercera entrada
+        cache.put("c", 3);
+
+        // THEN: Se descarta "b", la menos usada recientemente
+        assertNull("La entrada menos usada debería descartarse", cache.get("b"));
+        assertEquals("La entrada usada recientemente debería mantenerse", Integer.valueOf(1), cache.get("a"));
+        assertEquals("La caché no debería superar su capacidad", 2, cache.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_whenCapacityIsZero_throws() {
+        // GIVEN / WHEN / THEN: Una capacidad no positiva es inválida
+        new LruCache<String, Integer>(0);
+    }
+}
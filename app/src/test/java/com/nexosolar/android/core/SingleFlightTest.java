@@ -0,0 +1,91 @@
+package com.nexosolar.android.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests unitarios para SingleFlight.
+ * Verifica que las peticiones concurrentes con la misma clave comparten una única ejecución.
+ */
+public class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+    @Test
+    public void execute_whenSameKeyInFlight_startsOnceAndSharesResult() {
+        // GIVEN: Una operación que queda en vuelo hasta completarla manualmente
+        AtomicInteger starts = new AtomicInteger();
+        List<SingleFlight.Listener<Integer>> pending = new ArrayList<>();
+        SingleFlight.Operation<Integer> operation = done -> {
+            starts.incrementAndGet();
+            pending.add(done);
+        };
+        List<Integer> results = new ArrayList<>();
+
+        // WHEN: Tres peticiones con la misma clave llegan antes de que termine la primera
+        boolean first = singleFlight.execute("facturas", operation, listener(results));
+        boolean second = singleFlight.execute("facturas", operation, listener(results));
+        boolean third = singleFlight.execute("facturas", operation, listener(results));
+        pending.get(0).onSuccess(7);
+
+        // THEN: Solo la primera inicia la operación y todas reciben el mismo resultado
+        assertTrue("La primera petición debería iniciar la operación", first);
+        assertFalse("La segunda petición debería unirse a la operación en curso", second);
+        assertFalse("La tercera petición debería unirse a la operación en curso", third);
+        assertEquals("La operación debería ejecutarse una sola vez", 1, starts.get());
+        assertEquals("Todas las peticiones deberían recibir el resultado", 3, results.size());
+        assertTrue("Todas deberían recibir el mismo valor", results.stream().allMatch(r -> r == 7));
+        assertFalse("La clave debería quedar libre al terminar", singleFlight.isInFlight("facturas"));
+    }
+
+    @Test
+    public void execute_afterCompletion_startsNewOperation() {
+        // GIVEN: Una operación síncrona que falla la primera vez
+        AtomicInteger starts = new AtomicInteger();
+        SingleFlight.Operation<Integer> operation = done -> {
+            if (starts.incrementAndGet() == 1) {
+                done.onError(new Exception("Error de red"));
+            } else {
+                done.onSuccess(1);
+            }
+        };
+        List<Integer> results = new ArrayList<>();
+
+        // WHEN: Se repite la petición después de que la primera haya terminado
+        singleFlight.execute("facturas", operation, listener(results));
+        boolean restarted = singleFlight.execute("facturas", operation, listener(results));
+
+        // THEN: El error no se cachea y la segunda petición vuelve a ejecutarse
+        assertTrue("Una petición posterior debería iniciar otra operación", restarted);
+        assertEquals("La operación debería ejecutarse dos veces", 2, starts.get());
+        assertEquals("Se esperaba un error y después un éxito", 2, results.size());
+        assertEquals("El error se representa como -1", Integer.valueOf(-1), results.get(0));
+        assertEquals("El segundo intento debería tener éxito", Integer.valueOf(1), results.get(1));
+    }
+
+    // ========== Métodos auxiliares ==========
+
+    /**
+     * Receptor que registra los resultados (los errores se anotan como -1).
+     */
+    private SingleFlight.Listener<Integer> listener(List<Integer> results) {
+        return new SingleFlight.Listener<Integer>() {
+            @Override
+            public void onSuccess(Integer result) {
+                results.add(result);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                results.add(-1);
+            }
+        };
+    }
+}
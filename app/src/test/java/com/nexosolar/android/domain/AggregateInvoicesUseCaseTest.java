@@ -0,0 +1,110 @@
+package com.nexosolar.android.domain;
+
+import static org.junit.Assert.assertEquals;
+
+import com.nexosolar.android.domain.models.Invoice;
+import com.nexosolar.android.domain.models.InvoiceAggregates;
+import com.nexosolar.android.domain.models.InvoiceIndex;
+import com.nexosolar.android.domain.models.InvoiceState;
+import com.nexosolar.android.domain.usecase.invoice.AggregateInvoicesUseCase;
+import com.nexosolar.android.domain.usecase.invoice.FilterInvoicesUseCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tests unitarios para AggregateInvoicesUseCase.
+ * Valida los agregados mensuales, por estado y los percentiles sobre subconjuntos.
+ */
+public class AggregateInvoicesUseCaseTest {
+
+    private AggregateInvoicesUseCase useCase;
+    private List<Invoice> baseList;
+
+    @Before
+    public void setUp() {
+        useCase = new AggregateInvoicesUseCase();
+
+        baseList = new ArrayList<>();
+        baseList.add(new Invoice("Pagada", 40f, LocalDate.of(2025, 1, 31)));
+        baseList.add(new Invoice("Pagada", 10f, LocalDate.of(2025, 1, 1)));
+        baseList.add(new Invoice("Pendiente de pago", 30f, LocalDate.of(2025, 3, 15)));
+        baseList.add(new Invoice("Anulada", 20f, null));
+    }
+
+    @Test
+    public void execute_whenWholeIndex_aggregatesMonthsStatesAndPercentiles() {
+        // GIVEN: Índice sobre la lista base
+
+        // WHEN: Agregamos todas las facturas
+        InvoiceAggregates result = useCase.execute(InvoiceIndex.build(baseList));
+
+        // THEN: Los agregados cubren todas las dimensiones
+        assertEquals("Debería contar las 4 facturas", 4, result.getCount());
+        assertEquals("El total debería ser 100", 100.0, result.getTotalAmount(), 0.001);
+        assertEquals("Las pagadas deberían sumar 50", 50.0, result.getSum(InvoiceState.PAID), 0.001);
+        assertEquals("Debería haber 2 pagadas", 2, result.getCount(InvoiceState.PAID));
+        assertEquals("Enero debería sumar 50", 50.0, result.getMonthlyTotal(YearMonth.of(2025, 1)), 0.001);
+        assertEquals("Febrero no tiene facturas", 0, result.getMonthlyCount(YearMonth.of(2025, 2)));
+        assertEquals("Solo los meses con facturas aparecen en el mapa", 2, result.getMonthlyTotals().size());
+        assertEquals("La mediana debería ser 20", 20f, result.median(), 0f);
+        assertEquals("El percentil 100 debería ser el máximo", 40f, result.percentile(100), 0f);
+        assertEquals("El percentil 0 debería ser el mínimo", 10f, result.percentile(0), 0f);
+    }
+
+    @Test
+    public void execute_whenFilteredSelection_aggregatesOnlySubset() {
+        // GIVEN: Selección de las facturas pagadas
+        InvoiceIndex index = InvoiceIndex.build(baseList);
+        BitSet pagadas = new FilterInvoicesUseCase().execute(index,
+                Collections.singletonList("Pagada"), null, null, null, null);
+
+        // WHEN: Agregamos solo la selección
+        InvoiceAggregates result = useCase.execute(index, pagadas);
+
+        // THEN: Solo cuentan las facturas seleccionadas
+        assertEquals("Deberían contarse 2 facturas", 2, result.getCount());
+        assertEquals("El total debería ser 50", 50.0, result.getTotalAmount(), 0.001);
+        assertEquals("No debería haber pendientes", 0, result.getCount(InvoiceState.PENDING));
+        assertEquals("Marzo queda fuera de la selección", 0.0, result.getMonthlyTotal(YearMonth.of(2025, 3)), 0.0);
+        assertEquals("El máximo de la selección debería ser 40", 40f, result.percentile(100), 0f);
+    }
+
+    @Test
+    public void execute_whenDatesSpanYears_monthlyTotalsMatchLocalDateGrouping() {
+        // GIVEN: Una factura cada 17 días durante varios años, incluidos bisiestos
+        List<Invoice> invoices = new ArrayList<>();
+        Map<YearMonth, Double> expected = new TreeMap<>();
+        for (LocalDate date = LocalDate.of(1999, 11, 3); date.isBefore(LocalDate.of(2005, 3, 1)); date = date.plusDays(17)) {
+            invoices.add(new Invoice("Pagada", 1f, date));
+            expected.merge(YearMonth.from(date), 1.0, Double::sum);
+        }
+
+        // WHEN: Agregamos por meses
+        InvoiceAggregates result = useCase.execute(InvoiceIndex.build(invoices));
+
+        // THEN: Los meses coinciden con la agrupación por LocalDate
+        assertEquals("Los totales mensuales deberían coincidir con LocalDate",
+                expected, new TreeMap<>(result.getMonthlyTotals()));
+    }
+
+    @Test
+    public void execute_whenIndexEmpty_returnsZeroAggregates() {
+        // GIVEN / WHEN: Índice vacío
+        InvoiceAggregates result = useCase.execute(InvoiceIndex.empty());
+
+        // THEN: Agregados neutros
+        assertEquals("No debería contar facturas", 0, result.getCount());
+        assertEquals("Sin facturas la mediana es 0", 0f, result.median(), 0f);
+        assertEquals("Sin meses el mapa está vacío", 0, result.getMonthlyTotals().size());
+    }
+}
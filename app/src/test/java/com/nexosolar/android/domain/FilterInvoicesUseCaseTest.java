@@ -1,8 +1,13 @@
 package com.nexosolar.android.domain;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import com.nexosolar.android.domain.models.Invoice;
+import com.nexosolar.android.domain.models.InvoiceFilters;
+import com.nexosolar.android.domain.models.InvoiceIndex;
+import com.nexosolar.android.domain.models.InvoiceState;
 import com.nexosolar.android.domain.usecase.invoice.FilterInvoicesUseCase;
 
 import org.junit.Before;
@@ -10,7 +15,9 @@ import org.junit.Test;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
 /**
@@ -134,6 +141,127 @@ public class FilterInvoicesUseCaseTest {
         assertEquals("Debería retornar 2 facturas (Pagada y Anulada)", 2, result.size());
     }
 
+    @Test
+    public void executeOnIndex_whenFilterByStatusAndAmount_returnsMatchingPositions() {
+        // GIVEN: Índice columnar construido sobre la lista base
+        InvoiceIndex index = InvoiceIndex.build(baseList);
+        List<String> statuses = new ArrayList<>();
+        statuses.add("Pagada");
+        statuses.add("Anulada");
+
+        // WHEN: Filtramos por estados e importe mínimo sobre el índice
+        BitSet result = useCase.execute(index, statuses, null, null, 150.0, null);
+
+        // THEN: Solo queda seleccionada la posición de la factura anulada (300)
+        assertEquals("Debería seleccionar solo 1 posición", 1, result.cardinality());
+        assertTrue("La posición seleccionada debería ser la factura de 300", result.get(2));
+    }
+
+    @Test
+    public void executeOnIndex_whenInvoiceHasNoDateAndDateRangeIsSet_discardsInvoice() {
+        // GIVEN: Una factura sin fecha junto a la lista base
+        List<Invoice> invoices = new ArrayList<>(baseList);
+        invoices.add(createInvoice(150f, "Pagada", null));
+        InvoiceIndex index = InvoiceIndex.build(invoices);
+
+        // WHEN: Filtramos con un rango de fechas amplio
+        BitSet result = useCase.execute(index, null,
+                LocalDate.of(2000, 1, 1), LocalDate.of(2100, 1, 1), null, null);
+
+        // THEN: La factura sin fecha queda fuera y el resto se mantiene
+        assertEquals("Deberían quedar las 3 facturas con fecha", 3, result.cardinality());
+        assertFalse("La factura sin fecha no debería seleccionarse", result.get(3));
+    }
+
+    @Test
+    public void executeOnIndex_whenRangesMatchBoundaries_includesBoundaryInvoices() {
+        // GIVEN: Índice con facturas en los límites exactos de fecha e importe
+        InvoiceIndex index = InvoiceIndex.build(baseList);
+
+        // WHEN: Filtramos con rangos cuyos extremos coinciden con facturas existentes
+        BitSet result = useCase.execute(index, null,
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1), 200.0, 300.0);
+
+        // THEN: Ambos extremos son inclusivos en la búsqueda binaria
+        assertEquals("Deberían seleccionarse las facturas de 200 y 300", 2, result.cardinality());
+        assertTrue("Debería incluir la factura de febrero", result.get(1));
+        assertTrue("Debería incluir la factura de marzo", result.get(2));
+    }
+
+    @Test
+    public void refine_whenRangeNarrows_matchesFullPass() {
+        // GIVEN: Un resultado previo con un rango de importe amplio
+        InvoiceIndex index = InvoiceIndex.build(baseList);
+        BitSet previous = useCase.execute(index, null, null, null, 0.0, 300.0);
+
+        // WHEN: Estrechamos el rango y refinamos el resultado previo
+        BitSet refined = useCase.refine(index, previous, null, null, null, 150.0, 300.0);
+        BitSet fullPass = useCase.execute(index, null, null, null, 150.0, 300.0);
+
+        // THEN: El refinado coincide con una pasada completa con los mismos criterios
+        assertEquals("El refinado debería coincidir con la pasada completa", fullPass, refined);
+        assertEquals("Deberían quedar 2 facturas (200 y 300)", 2, refined.cardinality());
+    }
+
+    @Test
+    public void executeWithFilters_whenStatesAsEnumSet_matchesStringListPass() {
+        // GIVEN: Los mismos criterios expresados como EnumSet y como lista de textos
+        InvoiceIndex index = InvoiceIndex.build(baseList);
+        InvoiceFilters filters = new InvoiceFilters(
+                EnumSet.of(InvoiceState.PAID, InvoiceState.CANCELLED), null, null, null, null);
+
+        // WHEN: Filtramos con ambas variantes
+        BitSet fromFilters = useCase.execute(index, filters);
+        BitSet fromStrings = useCase.execute(index, filters.getFilteredStates(), null, null, null, null);
+
+        // THEN: El resultado es el mismo (Pagada y Anulada)
+        assertEquals("Ambas variantes deberían seleccionar lo mismo", fromStrings, fromFilters);
+        assertEquals("Deberían seleccionarse 2 facturas", 2, fromFilters.cardinality());
+    }
+
+    @Test
+    public void executeWithFilters_whenStatesNullOrEmpty_keepsListSemantics() {
+        // GIVEN: Filtros sin límites de fecha ni importe
+        InvoiceIndex index = InvoiceIndex.build(baseList);
+        InvoiceFilters filters = new InvoiceFilters(null, null, null, null, null);
+
+        // WHEN: Filtramos con estados null (sin filtro) y con un conjunto vacío
+        BitSet sinFiltro = useCase.execute(index, filters.withFilteredStates(null));
+        BitSet vacio = useCase.execute(index, filters.withFilteredStates(new ArrayList<>()));
+
+        // THEN: null deja pasar todo y el conjunto vacío no deja pasar nada
+        assertEquals("Sin filtro de estado deberían pasar todas", 3, sinFiltro.cardinality());
+        assertTrue("Con conjunto vacío no debería pasar ninguna", vacio.isEmpty());
+    }
+
+    @Test
+    public void execute_whenStatusDiffersInCase_matchesByState() {
+        // GIVEN: Una factura con el estado en minúsculas
+        baseList.add(createInvoice(400f, "pagada", LocalDate.of(2025, 4, 1)));
+
+        // WHEN: Filtramos por el texto "Pagada"
+        List<Invoice> result = useCase.execute(baseList, Collections.singletonList("Pagada"), null, null, null, null);
+
+        // THEN: Se compara por estado, no por texto exacto
+        assertEquals("Debería seleccionar ambas variantes de Pagada", 2, result.size());
+    }
+
+    @Test
+    public void execute_whenFilterByUnrecognizedStatus_matchesAllUnknownStates() {
+        // GIVEN: Facturas con estados no reconocidos y sin estado
+        baseList.add(createInvoice(400f, "En revisión", LocalDate.of(2025, 4, 1)));
+        baseList.add(createInvoice(500f, null, LocalDate.of(2025, 5, 1)));
+
+        // WHEN: Filtramos por un texto que no es un estado conocido
+        List<Invoice> result = useCase.execute(baseList, Collections.singletonList("Otro estado"), null, null, null, null);
+
+        // THEN: Equivale a filtrar por estado desconocido
+        assertEquals("Debería seleccionar todas las facturas de estado desconocido", 2, result.size());
+        for (Invoice invoice : result) {
+            assertEquals(InvoiceState.UNKNONWN, InvoiceState.fromServerValue(invoice.getInvoiceStatus()));
+        }
+    }
+
     // ========== Método auxiliar ==========
 
     /**
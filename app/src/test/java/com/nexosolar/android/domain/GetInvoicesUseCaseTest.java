@@ -1,15 +1,20 @@
 package com.nexosolar.android.domain;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 
 import com.nexosolar.android.domain.models.Invoice;
 import com.nexosolar.android.domain.repository.InvoiceRepository;
 import com.nexosolar.android.domain.repository.RepositoryCallback;
+import com.nexosolar.android.domain.repository.StreamObserver;
+import com.nexosolar.android.domain.repository.Subscription;
 import com.nexosolar.android.domain.usecase.invoice.GetInvoicesUseCase;
 
 import org.junit.Before;
@@ -20,6 +25,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -128,6 +134,64 @@ public class GetInvoicesUseCaseTest {
         useCase.refresh(callback);
     }
 
+    @Test
+    public void revalidate_whenCalled_delegatesWithForceFlag() {
+        // GIVEN: Un callback mock para recibir si la caché cambió
+        RepositoryCallback<Boolean> mockCallback = createMockCallback();
+
+        // WHEN: Se revalida sin forzar
+        useCase.revalidate(false, mockCallback);
+
+        // THEN: El repositorio decide con su TTL (no se fuerza la sincronización)
+        verify(mockRepository, times(1)).revalidateInvoices(eq(false), eq(mockCallback));
+    }
+
+    @Test
+    public void observe_whenRepositoryEmitsCacheThenNetwork_deliversBothInOrder() {
+        // GIVEN: Repositorio que emite primero la caché y después los datos de red
+        List<Invoice> cached = createMockInvoices();
+        List<Invoice> fresh = createMockInvoices();
+        fresh.remove(1);
+        Subscription subscription = createSubscription();
+        doAnswer(invocation -> {
+            StreamObserver<List<Invoice>> observer = invocation.getArgument(1);
+            observer.onCache(cached);
+            observer.onNetwork(fresh);
+            observer.onComplete();
+            return subscription;
+        }).when(mockRepository).observeInvoices(anyBoolean(), any());
+
+        // WHEN: Observamos el listado forzando la sincronización
+        List<String> events = new ArrayList<>();
+        Subscription result = useCase.observe(true, new StreamObserver<List<Invoice>>() {
+            @Override
+            public void onCache(List<Invoice> data) {
+                events.add("cache:" + data.size());
+            }
+
+            @Override
+            public void onNetwork(List<Invoice> data) {
+                events.add("network:" + data.size());
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                events.add("error");
+            }
+
+            @Override
+            public void onComplete() {
+                events.add("complete");
+            }
+        });
+
+        // THEN: Se delega con el mismo flag y llegan caché, red y fin, en ese orden
+        verify(mockRepository, times(1)).observeInvoices(eq(true), any());
+        assertSame("Debería devolver la suscripción del repositorio", subscription, result);
+        assertEquals("Los eventos deberían llegar en orden sin recarga adicional",
+                Arrays.asList("cache:2", "network:1", "complete"), events);
+    }
+
     // ========== Métodos auxiliares ==========
 
     /**
@@ -220,6 +284,25 @@ public class GetInvoicesUseCaseTest {
         };
     }
 
+    /**
+     * Crea una suscripción simple para pruebas.
+     */
+    private Subscription createSubscription() {
+        return new Subscription() {
+            private boolean cancelled;
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return cancelled;
+            }
+        };
+    }
+
     // Interfaces auxiliares para lambdas
     private interface SuccessHandler<T> {
         void handle(T data);
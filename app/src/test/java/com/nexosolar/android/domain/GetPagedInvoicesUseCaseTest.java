@@ -0,0 +1,60 @@
+package com.nexosolar.android.domain;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nexosolar.android.domain.models.InvoiceFilters;
+import com.nexosolar.android.domain.models.InvoiceSummary;
+import com.nexosolar.android.domain.repository.InvoicePagingRepository;
+import com.nexosolar.android.domain.repository.RepositoryCallback;
+import com.nexosolar.android.domain.usecase.invoice.GetPagedInvoicesUseCase;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Tests unitarios para GetPagedInvoicesUseCase.
+ * Valida que las páginas y el resumen se obtienen del repositorio paginado.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class GetPagedInvoicesUseCaseTest {
+
+    @Mock
+    private InvoicePagingRepository<String> mockRepository;
+
+    @Mock
+    private RepositoryCallback<InvoiceSummary> mockCallback;
+
+    private GetPagedInvoicesUseCase<String> useCase;
+
+    @Before
+    public void setUp() {
+        useCase = new GetPagedInvoicesUseCase<>(mockRepository);
+    }
+
+    @Test
+    public void observe_whenCalled_returnsRepositoryStreamForFilters() {
+        // GIVEN: Un repositorio que devuelve un flujo para unos filtros concretos
+        InvoiceFilters filters = new InvoiceFilters(null, null, null, 0.0, 100.0);
+        when(mockRepository.getPagedInvoices(filters)).thenReturn("paginas");
+
+        // WHEN: Se observa el listado con esos filtros
+        String stream = useCase.observe(filters);
+
+        // THEN: Se devuelve el flujo del repositorio sin transformarlo
+        assertSame("Debería devolver el flujo del repositorio", "paginas", stream);
+    }
+
+    @Test
+    public void getSummary_whenCalled_delegatesToRepository() {
+        // WHEN: Se pide el resumen del listado
+        useCase.getSummary(mockCallback);
+
+        // THEN: El repositorio recibe el mismo callback
+        verify(mockRepository).getSummary(mockCallback);
+    }
+}
@@ -0,0 +1,59 @@
+package com.nexosolar.android.domain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.nexosolar.android.domain.models.InvoiceFilters;
+import com.nexosolar.android.domain.models.InvoiceState;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+/**
+ * Tests unitarios para InvoiceFilters.
+ * Valida la inmutabilidad y la igualdad estructural usada como clave de caché.
+ */
+public class InvoiceFiltersTest {
+
+    @Test
+    public void equals_whenSameCriteriaBuiltDifferently_areEqualWithSameHash() {
+        // GIVEN: Los mismos criterios construidos por caminos distintos
+        InvoiceFilters base = new InvoiceFilters(null, null, null, null, null);
+        InvoiceFilters a = base
+                .withStates(EnumSet.of(InvoiceState.PAID, InvoiceState.PENDING))
+                .withDateRange(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30))
+                .withAmountRange(10.0, 200.0);
+        InvoiceFilters b = base
+                .withAmountRange(10.0, 200.0)
+                .withFilteredStates(Arrays.asList("pendiente de pago", "Pagada"))
+                .withStartDate(LocalDate.of(2025, 1, 1))
+                .withEndDate(LocalDate.of(2025, 6, 30));
+
+        // WHEN / THEN: Son iguales y comparten hash
+        assertEquals("Los filtros con los mismos criterios deberían ser iguales", a, b);
+        assertEquals("Los filtros iguales deberían tener el mismo hash", a.hashCode(), b.hashCode());
+        assertNotEquals("Un importe distinto debería dar filtros distintos", a, b.withAmountRange(10.0, 201.0));
+    }
+
+    @Test
+    public void withMethods_whenApplied_doNotModifyOriginal() {
+        // GIVEN: Unos filtros y un conjunto de estados externo
+        EnumSet<InvoiceState> estados = EnumSet.of(InvoiceState.PAID);
+        InvoiceFilters original = new InvoiceFilters(estados, null, null, 0.0, 100.0);
+
+        // WHEN: Derivamos una copia y modificamos el conjunto externo
+        InvoiceFilters copia = original.withStartDate(LocalDate.of(2025, 1, 1));
+        estados.add(InvoiceState.CANCELLED);
+
+        // THEN: El original no cambia
+        assertNull("El original debería mantener su fecha de inicio", original.getStartDate());
+        assertEquals("El original no debería ver cambios del conjunto externo",
+                EnumSet.of(InvoiceState.PAID), original.getStates());
+        assertTrue("La copia debería conservar los estados", copia.getStates().contains(InvoiceState.PAID));
+    }
+}
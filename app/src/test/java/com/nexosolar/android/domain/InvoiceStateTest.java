@@ -0,0 +1,67 @@
+package com.nexosolar.android.domain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.nexosolar.android.domain.models.Invoice;
+import com.nexosolar.android.domain.models.InvoiceState;
+
+import org.junit.Test;
+
+/**
+ * Tests unitarios para InvoiceState y la resolución del estado en Invoice.
+ */
+public class InvoiceStateTest {
+
+    @Test
+    public void fromServerValue_whenExactOrDifferentCase_returnsSameState() {
+        // GIVEN: El mismo estado con distintas mayúsculas
+
+        // WHEN: Resolvemos cada variante
+        InvoiceState exact = InvoiceState.fromServerValue("Pendiente de pago");
+        InvoiceState upper = InvoiceState.fromServerValue("PENDIENTE DE PAGO");
+        InvoiceState lower = InvoiceState.fromServerValue("pagada");
+
+        // THEN: La búsqueda es case-insensitive
+        assertEquals("El valor exacto debería resolverse", InvoiceState.PENDING, exact);
+        assertEquals("Mayúsculas deberían resolverse igual", InvoiceState.PENDING, upper);
+        assertEquals("Minúsculas deberían resolverse igual", InvoiceState.PAID, lower);
+    }
+
+    @Test
+    public void fromServerValue_whenNullEmptyOrUnknown_returnsUnknown() {
+        // GIVEN / WHEN / THEN: Valores sin estado conocido se mapean a UNKNONWN
+        assertEquals("null debería ser desconocido", InvoiceState.UNKNONWN, InvoiceState.fromServerValue(null));
+        assertEquals("Cadena vacía debería ser desconocida", InvoiceState.UNKNONWN, InvoiceState.fromServerValue(""));
+        assertEquals("Texto no reconocido debería ser desconocido",
+                InvoiceState.UNKNONWN, InvoiceState.fromServerValue("Devuelta"));
+    }
+
+    @Test
+    public void fromOrdinal_whenEveryState_returnsSameConstant() {
+        // GIVEN: Todos los estados
+        for (InvoiceState state : InvoiceState.values()) {
+            // WHEN: Resolvemos por ordinal
+            // THEN: Obtenemos la misma constante
+            assertSame("El ordinal debería resolver a la misma constante",
+                    state, InvoiceState.fromOrdinal(state.ordinal()));
+        }
+        assertEquals("COUNT debería coincidir con el número de estados",
+                InvoiceState.values().length, InvoiceState.COUNT);
+    }
+
+    @Test
+    public void getEstadoEnum_whenStatusChanges_reflectsNewStatus() {
+        // GIVEN: Una factura creada como pendiente
+        Invoice invoice = new Invoice("Pendiente de pago", 10f, null);
+
+        // WHEN: Cambiamos su estado
+        InvoiceState before = invoice.getEstadoEnum();
+        invoice.setInvoiceStatus("Anulada");
+
+        // THEN: El estado resuelto se actualiza con el setter
+        assertEquals("Debería resolverse en el constructor", InvoiceState.PENDING, before);
+        assertEquals("Debería resolverse de nuevo al cambiar el estado",
+                InvoiceState.CANCELLED, invoice.getEstadoEnum());
+    }
+}
@@ -0,0 +1,63 @@
+package com.nexosolar.android.domain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.nexosolar.android.domain.models.Invoice;
+import com.nexosolar.android.domain.models.InvoiceIndex;
+import com.nexosolar.android.domain.models.InvoiceState;
+import com.nexosolar.android.domain.models.InvoiceStatistics;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests unitarios para InvoiceStatistics.
+ * Valida los agregados calculados en una sola pasada.
+ */
+public class InvoiceStatisticsTest {
+
+    @Test
+    public void getStatistics_whenIndexBuilt_aggregatesInOnePass() {
+        // GIVEN: Facturas con distintos importes, estados y una sin fecha
+        List<Invoice> invoices = Arrays.asList(
+                new Invoice("Pagada", 100f, LocalDate.of(2025, 3, 1)),
+                new Invoice("Pendiente de pago", 50f, LocalDate.of(2024, 12, 31)),
+                new Invoice("Pagada", 250.5f, LocalDate.of(2025, 6, 15)),
+                new Invoice("Anulada", 10f, null));
+
+        // WHEN: Construimos el índice
+        InvoiceStatistics stats = InvoiceIndex.build(invoices).getStatistics();
+
+        // THEN: Los agregados reflejan todo el listado
+        assertEquals("Debería contar 4 facturas", 4, stats.getCount());
+        assertEquals("El total debería sumar todos los importes", 410.5, stats.getTotalAmount(), 0.001);
+        assertEquals("Debería haber 2 facturas pagadas", 2, stats.getCount(InvoiceState.PAID));
+        assertEquals("Debería haber 1 factura anulada", 1, stats.getCount(InvoiceState.CANCELLED));
+        assertEquals("El importe mínimo debería ser 10", 10f, stats.getMinAmount(), 0f);
+        assertEquals("El importe máximo debería ser 250.5", 250.5f, stats.getMaxAmount(), 0f);
+        assertEquals("La factura sin fecha no cuenta para la más antigua",
+                LocalDate.of(2024, 12, 31), stats.getOldestDate());
+        assertEquals("La fecha más reciente debería ser junio de 2025",
+                LocalDate.of(2025, 6, 15), stats.getNewestDate());
+    }
+
+    @Test
+    public void getStatistics_whenEmptyOrNull_returnsNeutralValues() {
+        // GIVEN / WHEN: Índices sobre listados nulos o vacíos
+        InvoiceStatistics fromNull = InvoiceIndex.build(null).getStatistics();
+        InvoiceStatistics fromEmpty = InvoiceIndex.build(new ArrayList<>()).getStatistics();
+
+        // THEN: Estadísticas vacías con valores neutros
+        assertTrue("Debería estar vacía", fromNull.isEmpty());
+        assertTrue("Debería estar vacía", fromEmpty.isEmpty());
+        assertEquals("Sin facturas el total debería ser 0", 0.0, fromNull.getTotalAmount(), 0.0);
+        assertEquals("Sin facturas el máximo debería ser 0", 0f, fromNull.getMaxAmount(), 0f);
+        assertNull("Sin facturas no hay fecha más antigua", fromNull.getOldestDate());
+    }
+}
@@ -0,0 +1,123 @@
+package com.nexosolar.android.domain;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.nexosolar.android.domain.models.Invoice;
+import com.nexosolar.android.domain.models.InvoiceFilters;
+import com.nexosolar.android.domain.models.InvoiceIndex;
+import com.nexosolar.android.domain.models.InvoiceState;
+import com.nexosolar.android.domain.models.InvoiceTimeCube;
+import com.nexosolar.android.domain.usecase.invoice.FilterInvoicesUseCase;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests unitarios para InvoiceTimeCube.
+ * Compara las sumas por ventana de fechas con el filtrado completo.
+ */
+public class InvoiceTimeCubeTest {
+
+    private static final String[] ESTADOS = {"Pagada", "Pendiente de pago", "Anulada", "Cuota fija"};
+
+    @Test
+    public void sumAndCount_whenRandomWindows_matchFilterUseCase() {
+        // GIVEN: Un histórico con fechas repetidas, estados variados y facturas sin fecha
+        Random random = new Random(42);
+        List<Invoice> invoices = new ArrayList<>();
+        LocalDate base = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < 500; i++) {
+            LocalDate date = random.nextInt(20) == 0 ? null : base.plusDays(random.nextInt(900));
+            invoices.add(new Invoice(ESTADOS[random.nextInt(ESTADOS.length)], random.nextInt(10_000) / 100f, date));
+        }
+        InvoiceIndex index = InvoiceIndex.build(invoices);
+        InvoiceTimeCube cube = InvoiceTimeCube.build(index);
+        FilterInvoicesUseCase filter = new FilterInvoicesUseCase();
+
+        for (int q = 0; q < 200; q++) {
+            // WHEN: Consultamos una ventana aleatoria (incluso fuera del rango de datos)
+            LocalDate from = q % 7 == 0 ? null : base.plusDays(random.nextInt(1000) - 50);
+            LocalDate to = q % 5 == 0 ? null : base.plusDays(random.nextInt(1000) - 50);
+            EnumSet<InvoiceState> states = EnumSet.of(InvoiceState.PAID, InvoiceState.FIXED_FEE);
+            InvoiceFilters filters = new InvoiceFilters(q % 3 == 0 ? null : states, from, to, null, null);
+
+            BitSet selection = filter.execute(index, filters);
+            double expected = 0;
+            for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+                expected += index.getAmount(i);
+            }
+
+            // THEN: El cubo responde lo mismo que una pasada completa
+            assertEquals("El recuento debería coincidir para " + filters, selection.cardinality(), cube.count(filters));
+            assertEquals("La suma debería coincidir para " + filters, expected, cube.sum(filters), 0.01);
+        }
+    }
+
+    @Test
+    public void sumAndCount_whenExtremeDates_staysBoundedAndMatchesFilterUseCase() {
+        // GIVEN: Un histórico reciente con fechas erróneas muy alejadas (un cubo denso
+        //        sobre todo el rango necesitaría decenas de millones de filas)
+        List<Invoice> invoices = new ArrayList<>();
+        LocalDate base = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < 300; i++) {
+            invoices.add(new Invoice(ESTADOS[i % ESTADOS.length], 10f + i, base.plusDays(i * 2)));
+        }
+        invoices.add(new Invoice("Pagada", 1f, LocalDate.of(25, 1, 1)));
+        invoices.add(new Invoice("Anulada", 2f, LocalDate.of(-100_000, 1, 1)));
+        invoices.add(new Invoice("Pagada", 4f, LocalDate.of(100_000, 12, 31)));
+        invoices.add(new Invoice("Pagada", 8f, null));
+        InvoiceIndex index = InvoiceIndex.build(invoices);
+
+        // WHEN: Construimos el cubo
+        InvoiceTimeCube cube = InvoiceTimeCube.build(index);
+
+        // THEN: Las ventanas que tocan las fechas extremas siguen respondiendo exacto
+        FilterInvoicesUseCase filter = new FilterInvoicesUseCase();
+        LocalDate[][] windows = {
+                {null, null},
+                {null, LocalDate.of(25, 1, 1)},
+                {LocalDate.of(25, 1, 1), LocalDate.of(2024, 3, 1)},
+                {LocalDate.of(2024, 6, 1), null},
+                {LocalDate.of(-100_000, 1, 1), LocalDate.of(100_000, 12, 31)},
+                {LocalDate.of(3000, 1, 1), LocalDate.of(2000, 1, 1)},
+        };
+        for (LocalDate[] window : windows) {
+            InvoiceFilters filters = new InvoiceFilters(
+                    EnumSet.of(InvoiceState.PAID, InvoiceState.CANCELLED), window[0], window[1], null, null);
+            BitSet selection = filter.execute(index, filters);
+            double expected = 0;
+            for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+                expected += index.getAmount(i);
+            }
+            assertEquals("El recuento debería coincidir para " + filters, selection.cardinality(), cube.count(filters));
+            assertEquals("La suma debería coincidir para " + filters, expected, cube.sum(filters), 0.01);
+        }
+        assertEquals("Sin límites deberían contarse todas las facturas",
+                invoices.size(), cube.count(null, null, null));
+    }
+
+    @Test
+    public void supports_whenAmountRangeExcludesData_returnsFalse() {
+        // GIVEN: Un cubo con importes entre 10 y 50
+        List<Invoice> invoices = new ArrayList<>();
+        invoices.add(new Invoice("Pagada", 10f, LocalDate.of(2025, 1, 1)));
+        invoices.add(new Invoice("Pagada", 50f, LocalDate.of(2025, 2, 1)));
+        InvoiceTimeCube cube = InvoiceTimeCube.build(InvoiceIndex.build(invoices));
+
+        // WHEN / THEN: Solo los rangos que abarcan todos los importes se resuelven con el cubo
+        assertTrue("Un rango que abarca todo debería soportarse",
+                cube.supports(new InvoiceFilters(null, null, null, 0.0, 50.0)));
+        assertFalse("Un rango que recorta importes no debería soportarse",
+                cube.supports(new InvoiceFilters(null, null, null, 20.0, 50.0)));
+        assertEquals("Un conjunto de estados vacío no cuenta ninguna factura",
+                0, cube.count(null, null, EnumSet.noneOf(InvoiceState.class)));
+    }
+}
@@ -0,0 +1,168 @@
+package com.nexosolar.android.ui.invoices;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.os.Handler;
+
+import androidx.arch.core.executor.testing.InstantTaskExecutorRule;
+
+import com.nexosolar.android.domain.models.Invoice;
+import com.nexosolar.android.domain.models.InvoiceFilters;
+import com.nexosolar.android.domain.repository.InvoiceRepository;
+import com.nexosolar.android.domain.repository.RepositoryCallback;
+import com.nexosolar.android.domain.repository.StreamObserver;
+import com.nexosolar.android.domain.repository.Subscription;
+import com.nexosolar.android.domain.usecase.invoice.FilterInvoicesUseCase;
+import com.nexosolar.android.domain.usecase.invoice.GetInvoicesUseCase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests unitarios para InvoiceViewModel.
+ * Verifica qué lista se publica con cada emisión del flujo de facturas (caché y red).
+ */
+public class InvoiceViewModelTest {
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private final FakeInvoiceRepository repository = new FakeInvoiceRepository();
+    private final BlockingQueue<List<InvoiceRowModel>> publicadas = new LinkedBlockingQueue<>();
+    private InvoiceViewModel viewModel;
+
+    @Before
+    public void setUp() {
+        // Handler del hilo principal que ejecuta cada post en el acto
+        Handler handler = mock(Handler.class);
+        when(handler.post(any())).thenAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return true;
+        });
+
+        viewModel = new InvoiceViewModel(new GetInvoicesUseCase(repository),
+                new FilterInvoicesUseCase(), null, handler);
+        viewModel.getFilas().observeForever(publicadas::add);
+    }
+
+    @After
+    public void tearDown() {
+        viewModel.onCleared();
+    }
+
+    @Test
+    public void coldStart_withoutAppliedFilters_publishesAllInvoices() throws Exception {
+        // GIVEN: Facturas de varios estados, una de ellas sin fecha
+        List<Invoice> invoices = createInvoices(100f, 200f);
+        invoices.add(new Invoice("Pendiente de pago", 50f, null));
+
+        // WHEN: Llega la primera emisión sin que el usuario haya tocado los filtros
+        repository.observer.onCache(invoices);
+
+        // THEN: Se muestran todas las facturas
+        assertEquals("La primera carga debería mostrar todas las facturas", 3, nextPublished().size());
+        assertFalse("No debería haber filtros activos", viewModel.hayFiltrosActivos());
+    }
+
+    @Test
+    public void revalidation_withAppliedFilters_keepsUserFilters() throws Exception {
+        // GIVEN: La caché en pantalla y un filtro de importe aplicado por el usuario
+        repository.observer.onCache(createInvoices(100f, 200f, 300f));
+        nextPublished();
+        viewModel.actualizarFiltros(new InvoiceFilters(null, null, null, 150.0, 1000.0));
+        assertEquals("El filtro debería dejar dos facturas", 2, nextPublished().size());
+
+        // WHEN: La revalidación trae una factura nueva
+        repository.observer.onNetwork(createInvoices(100f, 200f, 300f, 450f));
+
+        // THEN: Se reaplica el filtro del usuario sobre los datos nuevos
+        assertEquals("Debería mantenerse el filtro del usuario", 3, nextPublished().size());
+        assertTrue("El filtro del usuario debería seguir activo", viewModel.hayFiltrosActivos());
+    }
+
+    @Test
+    public void revalidation_whenNetworkChangesRows_publishesFullList() throws Exception {
+        // GIVEN: La caché ya está en pantalla con los filtros por defecto
+        repository.observer.onCache(createInvoices(100f, 200f, 300f));
+        assertEquals("La caché debería mostrarse completa", 3, nextPublished().size());
+
+        // WHEN: La revalidación en segundo plano trae una factura nueva con un importe mayor
+        repository.observer.onNetwork(createInvoices(100f, 200f, 300f, 450f));
+
+        // THEN: Se publica el listado completo, no una lista filtrada con los filtros del reset
+        assertEquals("La revalidación debería mostrar todas las facturas", 4, nextPublished().size());
+        assertFalse("Los filtros por defecto no deberían contar como activos", viewModel.hayFiltrosActivos());
+        assertEquals("El importe máximo debería actualizarse", 450f, viewModel.getMaxImporte(), 0.001f);
+    }
+
+    // ===== Utilidades =====
+
+    private List<InvoiceRowModel> nextPublished() throws InterruptedException {
+        List<InvoiceRowModel> filas = publicadas.poll(2, TimeUnit.SECONDS);
+        assertNotNull("Debería publicarse una lista", filas);
+        return filas;
+    }
+
+    private static List<Invoice> createInvoices(float... importes) {
+        List<Invoice> invoices = new ArrayList<>();
+        for (int i = 0; i < importes.length; i++) {
+            invoices.add(new Invoice("Pagada", importes[i], LocalDate.of(2025, 1, 1).plusMonths(i)));
+        }
+        return invoices;
+    }
+
+    /**
+     * Repositorio que guarda el observador para emitir caché y red desde el test.
+     */
+    private static class FakeInvoiceRepository implements InvoiceRepository {
+        StreamObserver<List<Invoice>> observer;
+
+        @Override
+        public void getInvoices(RepositoryCallback<List<Invoice>> callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Subscription observeInvoices(boolean forceRefresh, StreamObserver<List<Invoice>> observer) {
+            this.observer = observer;
+            return new Subscription() {
+                private boolean cancelled;
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+
+                @Override
+                public boolean isCancelled() {
+                    return cancelled;
+                }
+            };
+        }
+
+        @Override
+        public void revalidateInvoices(boolean forceRefresh, RepositoryCallback<Boolean> callback) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void refreshInvoices(RepositoryCallback<Boolean> callback) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
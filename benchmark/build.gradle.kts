@@ -0,0 +1,47 @@
+plugins {
+    id("java")
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// El código de mapeo vive en módulos Android (:data y :data-retrofit), de los que un módulo
+// JVM no puede depender. Se compilan aquí solo los ficheros del mapeo, que no usan el SDK.
+sourceSets {
+    main {
+        java {
+            srcDir("../data/src/main/java")
+            srcDir("../data-retrofit/src/main/java")
+            include(
+                "com/nexosolar/android/data/InvoiceMapper.java",
+                "com/nexosolar/android/data/InvoiceKeyGenerator.java",
+                "com/nexosolar/android/data/local/InvoiceEntity.java",
+                "com/nexosolar/android/data/remote/InvoiceDto.java"
+            )
+        }
+    }
+}
+
+dependencies {
+    // 1. Módulos propios
+    implementation(project(":domain"))
+    implementation(project(":core"))
+
+    // 2. Dependencias del código de mapeo
+    implementation("com.google.code.gson:gson:2.10.1")
+    compileOnly("androidx.room:room-common:2.6.1") // Solo anotaciones de InvoiceEntity
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh.get())
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    jvmArgs.set(listOf("-Xms2g", "-Xmx2g"))
+    resultFormat.set("JSON")
+    // Filtro opcional: ./gradlew :benchmark:jmh -Pjmh.includes=FilterInvoices
+    (project.findProperty("jmh.includes") as String?)?.let { includes.set(listOf(it)) }
+}
@@ -0,0 +1,67 @@
+package com.nexosolar.android.benchmark;
+
+import com.google.gson.JsonPrimitive;
+import com.nexosolar.android.core.DateUtils;
+import com.nexosolar.android.core.LocalDateTypeAdapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de las conversiones de fecha: lectura con LocalDateTypeAdapter y formato de
+ * presentación con DateUtils.formatDate.
+ *
+ * Cada invocación procesa un elemento; el parámetro size es el número de fechas distintas
+ * que se recorren cíclicamente, de modo que las memorias internas (p. ej. la caché de
+ * DateUtils) se miden tanto con aciertos como con fallos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private final LocalDateTypeAdapter adapter = new LocalDateTypeAdapter();
+    private JsonPrimitive[] json;
+    private LocalDate[] dates;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        String[] texts = InvoiceDatasets.dateStrings(size);
+        json = new JsonPrimitive[size];
+        for (int i = 0; i < size; i++) {
+            json[i] = new JsonPrimitive(texts[i]);
+        }
+        dates = InvoiceDatasets.dates(size);
+    }
+
+    @Benchmark
+    public LocalDate localDateTypeAdapterDeserialize() {
+        return adapter.deserialize(json[next()], LocalDate.class, null);
+    }
+
+    @Benchmark
+    public String dateUtilsFormatDate() {
+        return DateUtils.formatDate(dates[next()]);
+    }
+
+    // ===== Métodos privados =====
+
+    private int next() {
+        int i = cursor;
+        cursor = i + 1 == size ? 0 : i + 1;
+        return i;
+    }
+}
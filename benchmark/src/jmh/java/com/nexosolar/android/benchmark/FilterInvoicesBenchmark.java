@@ -0,0 +1,72 @@
+package com.nexosolar.android.benchmark;
+
+import com.nexosolar.android.domain.models.Invoice;
+import com.nexosolar.android.domain.models.InvoiceFilters;
+import com.nexosolar.android.domain.models.InvoiceIndex;
+import com.nexosolar.android.domain.models.InvoiceState;
+import com.nexosolar.android.domain.usecase.invoice.FilterInvoicesUseCase;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de FilterInvoicesUseCase.
+ *
+ * - executeOnList: camino completo desde List&lt;Invoice&gt; (construcción del índice,
+ *   filtrado y materialización), equivalente al uso sin índice previo.
+ * - executeOnIndex: solo la pasada de filtrado sobre un índice ya construido, que es lo que
+ *   ejecuta InvoiceFilterManager en cada cambio de filtros.
+ *
+ * Los filtros combinan dos estados, una ventana de un año y un rango de importe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FilterInvoicesBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private final FilterInvoicesUseCase useCase = new FilterInvoicesUseCase();
+    private List<Invoice> invoices;
+    private InvoiceIndex index;
+    private InvoiceFilters filters;
+    private List<String> estados;
+
+    @Setup
+    public void setUp() {
+        invoices = InvoiceDatasets.invoices(size);
+        index = InvoiceIndex.build(invoices);
+
+        LocalDate from = InvoiceDatasets.FIRST_DAY.plusYears(4);
+        filters = new InvoiceFilters(
+                EnumSet.of(InvoiceState.PAID, InvoiceState.PENDING),
+                from, from.plusYears(1), 50.0, 300.0);
+        estados = Arrays.asList(InvoiceState.PAID.getServerValue(), InvoiceState.PENDING.getServerValue());
+    }
+
+    @Benchmark
+    public List<Invoice> executeOnList() {
+        return useCase.execute(invoices, estados,
+                filters.getStartDate(), filters.getEndDate(),
+                filters.getMinAmount(), filters.getMaxAmount());
+    }
+
+    @Benchmark
+    public BitSet executeOnIndex() {
+        return useCase.execute(index, filters);
+    }
+}
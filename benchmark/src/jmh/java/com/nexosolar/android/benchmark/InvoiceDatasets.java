@@ -0,0 +1,132 @@
+package com.nexosolar.android.benchmark;
+
+import com.nexosolar.android.data.remote.InvoiceDto;
+import com.nexosolar.android.domain.models.Invoice;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generador de datos sintéticos para los benchmarks.
+ *
+ * Con la misma semilla produce siempre el mismo conjunto, de modo que los resultados de
+ * distintas ejecuciones son comparables. La distribución imita la de la API: la mayoría de
+ * estados con el texto exacto del servidor, algunos con otras mayúsculas o desconocidos,
+ * y un pequeño porcentaje de facturas sin fecha.
+ */
+final class InvoiceDatasets {
+
+    // ===== Constantes =====
+
+    static final long SEED = 20_240_501L;
+
+    /**
+     * Primer día del histórico sintético; las fechas cubren unos diez años.
+     */
+    static final LocalDate FIRST_DAY = LocalDate.of(2015, 1, 1);
+    static final int DAY_SPAN = 3_650;
+
+    private static final String[] ESTADOS = {
+            "Pagada", "Pendiente de pago", "Anulada", "Cuota fija", "Plan de pago"
+    };
+
+    // ===== Constructores =====
+
+    private InvoiceDatasets() {
+        // Clase de utilidad
+    }
+
+    // ===== Métodos públicos =====
+
+    static List<Invoice> invoices(int size) {
+        Random random = new Random(SEED);
+        List<Invoice> invoices = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            invoices.add(new Invoice(status(random), amount(random), date(random)));
+        }
+        return invoices;
+    }
+
+    static List<InvoiceDto> dtos(int size) {
+        Random random = new Random(SEED);
+        List<InvoiceDto> dtos = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            InvoiceDto dto = new InvoiceDto();
+            dto.status = status(random);
+            dto.amount = amount(random);
+            LocalDate date = date(random);
+            dto.date = date != null ? format(date) : null;
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    /**
+     * Estados tal como llegan del servidor, con variantes de mayúsculas y valores desconocidos.
+     */
+    static String[] statusValues(int size) {
+        Random random = new Random(SEED);
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = status(random);
+        }
+        return values;
+    }
+
+    /**
+     * Fechas distintas consecutivas a partir de {@link #FIRST_DAY} (1M días llega al año 4700,
+     * dentro del formato de cuatro dígitos).
+     */
+    static LocalDate[] dates(int size) {
+        LocalDate[] dates = new LocalDate[size];
+        for (int i = 0; i < size; i++) {
+            dates[i] = FIRST_DAY.plusDays(i);
+        }
+        return dates;
+    }
+
+    /**
+     * Fechas en formato dd/MM/yyyy, como las envía la API.
+     */
+    static String[] dateStrings(int size) {
+        LocalDate[] dates = dates(size);
+        String[] values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = format(dates[i]);
+        }
+        return values;
+    }
+
+    // ===== Métodos privados =====
+
+    private static String status(Random random) {
+        int roll = random.nextInt(100);
+        String estado = ESTADOS[random.nextInt(ESTADOS.length)];
+        if (roll < 5) {
+            return estado.toUpperCase(Locale.ROOT);
+        }
+        if (roll < 7) {
+            return "Devuelta";
+        }
+        return estado;
+    }
+
+    private static float amount(Random random) {
+        return random.nextInt(50_000) / 100f;
+    }
+
+    private static LocalDate date(Random random) {
+        if (random.nextInt(100) < 2) {
+            return null;
+        }
+        return FIRST_DAY.plusDays(random.nextInt(DAY_SPAN));
+    }
+
+    private static String format(LocalDate date) {
+        return String.format(Locale.ROOT, "%02d/%02d/%04d",
+                date.getDayOfMonth(), date.getMonthValue(), date.getYear());
+    }
+}
@@ -0,0 +1,43 @@
+package com.nexosolar.android.benchmark;
+
+import com.nexosolar.android.data.InvoiceMapper;
+import com.nexosolar.android.data.local.InvoiceEntity;
+import com.nexosolar.android.data.remote.InvoiceDto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de InvoiceMapper.toEntityListFromDto: parseo de fechas, claves estables y
+ * creación de entidades para una respuesta completa de la API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InvoiceMapperBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private final InvoiceMapper mapper = new InvoiceMapper();
+    private List<InvoiceDto> dtos;
+
+    @Setup
+    public void setUp() {
+        dtos = InvoiceDatasets.dtos(size);
+    }
+
+    @Benchmark
+    public List<InvoiceEntity> toEntityListFromDto() {
+        return mapper.toEntityListFromDto(dtos);
+    }
+}
@@ -0,0 +1,42 @@
+package com.nexosolar.android.benchmark;
+
+import com.nexosolar.android.domain.models.InvoiceState;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de InvoiceState.fromServerValue con la distribución de textos del generador
+ * (mayoría exactos, algunos con otras mayúsculas y algunos desconocidos).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InvoiceStateBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    private String[] values;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        values = InvoiceDatasets.statusValues(size);
+    }
+
+    @Benchmark
+    public InvoiceState fromServerValue() {
+        int i = cursor;
+        cursor = i + 1 == size ? 0 : i + 1;
+        return InvoiceState.fromServerValue(values[i]);
+    }
+}
@@ -0,0 +1,117 @@
+package com.nexosolar.android.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ejecutor en segundo plano con política "la última petición gana".
+ *
+ * Cada envío recibe un número de generación creciente. Al enviar una tarea nueva:
+ * - La tarea anterior que aún no ha empezado se cancela y nunca llega a ejecutarse.
+ * - La tarea anterior que está en curso se interrumpe y su resultado se descarta.
+ *
+ * Solo se entrega el resultado de la generación vigente, de modo que ráfagas de peticiones
+ * (por ejemplo, varios cambios seguidos del slider de importes) se coalescen en una sola
+ * pasada útil en lugar de ejecutarse todas en cola.
+ */
+public class CoalescingExecutor {
+
+    // ===== Interfaces internas =====
+
+    /**
+     * Receptor del resultado de una tarea. Se invoca en el hilo del ejecutor y solo
+     * si la tarea sigue siendo la generación vigente al terminar.
+     */
+    public interface ResultHandler<T> {
+        void onResult(T result, long generation);
+
+        void onError(Throwable error, long generation);
+    }
+
+    // ===== Variables de instancia =====
+
+    private final ExecutorService executor;
+    private final AtomicLong generation = new AtomicLong();
+    private Future<?> current;
+
+    // ===== Constructores =====
+
+    public CoalescingExecutor() {
+        this(Executors.newSingleThreadExecutor());
+    }
+
+    public CoalescingExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    // ===== Métodos públicos =====
+
+    /**
+     * Envía una tarea, sustituyendo a cualquier tarea pendiente o en curso.
+     *
+     * @param task Trabajo a ejecutar en segundo plano
+     * @param handler Receptor del resultado (solo si sigue vigente)
+     * @return Generación asignada a esta petición
+     */
+    public synchronized <T> long submit(Callable<T> task, ResultHandler<T> handler) {
+        long myGeneration = generation.incrementAndGet();
+
+        if (current != null) {
+            current.cancel(true);
+        }
+
+        current = executor.submit(() -> {
+            if (!isCurrent(myGeneration)) return;
+
+            try {
+                T result = task.call();
+                if (isCurrent(myGeneration) && !Thread.currentThread().isInterrupted()) {
+                    handler.onResult(result, myGeneration);
+                }
+            } catch (InterruptedException e) {
+                // Sustituida por una petición más reciente
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                if (isCurrent(myGeneration)) {
+                    handler.onError(e, myGeneration);
+                }
+            }
+        });
+
+        return myGeneration;
+    }
+
+    /**
+     * Indica si la generación indicada sigue siendo la última enviada.
+     * Permite descartar resultados obsoletos justo antes de publicarlos.
+     */
+    public boolean isCurrent(long generationToCheck) {
+        return generation.get() == generationToCheck;
+    }
+
+    /**
+     * Invalida la tarea pendiente o en curso sin enviar una nueva.
+     */
+    public synchronized void invalidate() {
+        generation.incrementAndGet();
+        if (current != null) {
+            current.cancel(true);
+            current = null;
+        }
+    }
+
+    /**
+     * Detiene el ejecutor interrumpiendo cualquier tarea en curso.
+     */
+    public synchronized void shutdown() {
+        invalidate();
+        executor.shutdownNow();
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+}
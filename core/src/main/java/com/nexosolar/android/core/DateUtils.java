@@ -17,7 +17,7 @@ import java.util.Locale;
  */
 public class DateUtils {
 
-    // ===== Variables de instancia =====
+    // ===== Constantes =====
 
     /**
      * Formateador para fechas cortas en formato europeo: dd/MM/yy
@@ -26,6 +26,22 @@ public class DateUtils {
     private static final DateTimeFormatter SHORT_FORMATTER =
             DateTimeFormatter.ofPattern("dd/MM/yy", Locale.getDefault());
 
+    /**
+     * Formateador para fechas legibles en español: "20 ene 2025".
+     * DateTimeFormatter es inmutable y thread-safe, por lo que se comparte.
+     */
+    private static final DateTimeFormatter LONG_FORMATTER =
+            DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.forLanguageTag("es-ES"));
+
+    /**
+     * Número de fechas formateadas que se memorizan (potencia de 2).
+     * Caché de correspondencia directa indexada por día: sin bloqueos ni boxing en la
+     * consulta; dos fechas que comparten posición se van sustituyendo.
+     */
+    static final int FORMATTED_CACHE_SIZE = 1024;
+
+    private static final FormattedDate[] FORMATTED_CACHE = new FormattedDate[FORMATTED_CACHE_SIZE];
+
     // ===== Métodos públicos =====
 
     /**
@@ -49,14 +65,36 @@ public class DateUtils {
      * Se utiliza principalmente en vistas de facturas, informes y otros documentos
      * donde se requiere un formato de fecha más formal y legible.
      *
+     * Las facturas comparten un conjunto pequeño de fechas, así que el texto se memoriza
+     * por día (ver {@link #FORMATTED_CACHE_SIZE}): una fecha ya formateada se devuelve
+     * sin reservar memoria, lo que importa porque se llama en cada bind del listado.
+     *
      * @param date Fecha a formatear
      * @return Cadena con la fecha formateada, o cadena vacía si date es null
      */
     public static String formatDate(LocalDate date) {
         if (date == null) return "";
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.forLanguageTag("es-ES"));
-        String fechaStr = date.format(formatter);
+        long epochDay = date.toEpochDay();
+        int slot = (int) (epochDay & (FORMATTED_CACHE_SIZE - 1));
+
+        FormattedDate cached = FORMATTED_CACHE[slot];
+        if (cached != null && cached.epochDay == epochDay) {
+            return cached.text;
+        }
+
+        String text = renderDate(date);
+        FORMATTED_CACHE[slot] = new FormattedDate(epochDay, text);
+        return text;
+    }
+
+    // ===== Métodos privados =====
+
+    /**
+     * Genera el texto "20 Ene 2025" sin pasar por la caché.
+     */
+    private static String renderDate(LocalDate date) {
+        String fechaStr = date.format(LONG_FORMATTER);
 
         // Capitaliza la primera letra del mes (ej: "ene" → "Ene")
         int primerEspacio = fechaStr.indexOf(' ');
@@ -72,4 +110,20 @@ public class DateUtils {
         // Elimina puntos que puedan aparecer después de las abreviaciones de meses
         return fechaStr.replace(".", "");
     }
+
+    // ===== Clases internas =====
+
+    /**
+     * Entrada inmutable de la caché: al publicarse como una única referencia, un lector
+     * concurrente nunca ve un día emparejado con el texto de otro.
+     */
+    private static final class FormattedDate {
+        final long epochDay;
+        final String text;
+
+        FormattedDate(long epochDay, String text) {
+            this.epochDay = epochDay;
+            this.text = text;
+        }
+    }
 }
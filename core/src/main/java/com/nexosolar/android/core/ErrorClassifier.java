@@ -29,7 +29,12 @@ public class ErrorClassifier {
             return ErrorType.SERVER;
         }
 
-        // 2. Si es otra IOException (como UnknownHostException -> No hay internet)
+        // 2. Respuesta recibida pero con JSON mal formado: el fallo es del servidor, no de la red
+        if (className.contains("MalformedJsonException")) {
+            return ErrorType.SERVER;
+        }
+
+        // 3. Si es otra IOException (como UnknownHostException -> No hay internet)
         if (error instanceof java.io.IOException) {
             return ErrorType.NETWORK;
         }
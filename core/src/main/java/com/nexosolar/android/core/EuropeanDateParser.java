@@ -0,0 +1,155 @@
+package com.nexosolar.android.core;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parser de fechas en formato europeo dd/MM/yyyy sin reservas de memoria ni excepciones.
+ *
+ * Lee los dígitos directamente de la cadena y calcula los días desde 1970-01-01 con
+ * aritmética entera, sin construir DateTimeFormatter, subcadenas ni objetos intermedios.
+ * Una entrada inválida no lanza excepción: se devuelve {@link #INVALID} y se incrementa
+ * el contador de errores de validación.
+ *
+ * Reproduce la resolución SMART de DateTimeFormatter.ofPattern("dd/MM/yyyy"), que es la
+ * que se usaba antes: los días 29 a 31 que no existen en el mes se ajustan al último día
+ * del mes (31/04/2024 → 30/04/2024); cualquier otro valor fuera de rango es inválido.
+ */
+public final class EuropeanDateParser {
+
+    // ===== Constantes =====
+
+    /**
+     * Valor devuelto cuando la cadena no es una fecha dd/MM/yyyy válida.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final int LENGTH = 10;
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+
+    // ===== Variables de clase =====
+
+    private static final LongAdder validationErrors = new LongAdder();
+
+    // ===== Constructores =====
+
+    private EuropeanDateParser() {
+        // Clase de utilidad
+    }
+
+    // ===== Métodos públicos =====
+
+    /**
+     * Convierte una fecha dd/MM/yyyy a días desde 1970-01-01.
+     *
+     * @param text Fecha en formato dd/MM/yyyy, o null
+     * @return Días desde la época, o {@link #INVALID} si text es null o no es válida.
+     *         Un null se considera "sin fecha" y no cuenta como error de validación.
+     */
+    public static long parseEpochDay(CharSequence text) {
+        if (text == null) {
+            return INVALID;
+        }
+        if (text.length() != LENGTH || text.charAt(2) != '/' || text.charAt(5) != '/') {
+            return reject();
+        }
+
+        int day = digits(text, 0, 2);
+        int month = digits(text, 3, 5);
+        int year = digits(text, 6, 10);
+        if (day < 1 || day > 31 || month < 1 || month > 12 || year < 1) {
+            return reject();
+        }
+
+        int monthLength = monthLength(month, year);
+        if (day > monthLength) {
+            if (day < 29) {
+                return reject();
+            }
+            day = monthLength;
+        }
+
+        return toEpochDay(year, month, day);
+    }
+
+    /**
+     * Convierte una fecha dd/MM/yyyy a LocalDate.
+     *
+     * @param text Fecha en formato dd/MM/yyyy, o null
+     * @return Fecha correspondiente, o null si text es null o no es válida
+     */
+    public static LocalDate parse(CharSequence text) {
+        long epochDay = parseEpochDay(text);
+        return epochDay == INVALID ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * @return Número de cadenas rechazadas por formato o valores fuera de rango
+     */
+    public static long getValidationErrorCount() {
+        return validationErrors.sum();
+    }
+
+    public static void resetValidationErrorCount() {
+        validationErrors.reset();
+    }
+
+    // ===== Métodos privados =====
+
+    private static long reject() {
+        validationErrors.increment();
+        return INVALID;
+    }
+
+    /**
+     * Lee un número decimal sin signo del rango [from, to).
+     *
+     * @return Valor leído, o -1 si algún carácter no es un dígito ASCII
+     */
+    private static int digits(CharSequence text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int monthLength(int month, int year) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * Mismo cálculo que LocalDate#toEpochDay, restringido a años positivos.
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y + (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += (367L * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
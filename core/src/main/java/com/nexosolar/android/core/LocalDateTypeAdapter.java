@@ -19,9 +19,10 @@ public class LocalDateTypeAdapter implements JsonSerializer<LocalDate>, JsonDese
     // ===== Variables de instancia =====
 
     /**
-     * Formato de fecha utilizado por la API: dd/MM/yyyy (formato europeo)
+     * Formato de fecha utilizado por la API: dd/MM/yyyy (formato europeo).
+     * Solo se usa para serializar; la lectura usa EuropeanDateParser.
      */
-    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
     // ===== Métodos públicos =====
 
@@ -35,7 +36,7 @@ public class LocalDateTypeAdapter implements JsonSerializer<LocalDate>, JsonDese
      */
     @Override
     public JsonElement serialize(LocalDate date, Type typeOfSrc, JsonSerializationContext context) {
-        return new JsonPrimitive(date.format(formatter));
+        return new JsonPrimitive(date.format(FORMATTER));
     }
 
     /**
@@ -50,6 +51,11 @@ public class LocalDateTypeAdapter implements JsonSerializer<LocalDate>, JsonDese
     @Override
     public LocalDate deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
             throws JsonParseException {
-        return LocalDate.parse(json.getAsString(), formatter);
+        String text = json.getAsString();
+        LocalDate date = EuropeanDateParser.parse(text);
+        if (date == null) {
+            throw new JsonParseException("Fecha no válida (se esperaba dd/MM/yyyy): " + text);
+        }
+        return date;
     }
 }
@@ -0,0 +1,65 @@
+package com.nexosolar.android.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché LRU de tamaño fijo.
+ *
+ * Al superar la capacidad se descarta la entrada usada hace más tiempo; tanto get como put
+ * cuentan como uso. No es segura entre hilos: el propietario debe sincronizar el acceso.
+ *
+ * @param <K> Tipo de la clave (debe implementar equals/hashCode)
+ * @param <V> Tipo del valor
+ */
+public class LruCache<K, V> {
+
+    // ===== Variables de instancia =====
+
+    private final int capacity;
+    private final LinkedHashMap<K, V> entries;
+
+    // ===== Constructores =====
+
+    /**
+     * @param capacity Número máximo de entradas (mayor que 0)
+     */
+    public LruCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacidad debe ser mayor que 0: " + capacity);
+        }
+        this.capacity = capacity;
+        // accessOrder = true: el orden de iteración va de la menos a la más usada
+        this.entries = new LinkedHashMap<K, V>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.capacity;
+            }
+        };
+    }
+
+    // ===== Métodos públicos =====
+
+    /**
+     * @return Valor asociado a la clave, o null si no está en caché
+     */
+    public V get(K key) {
+        return entries.get(key);
+    }
+
+    public void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,112 @@
+package com.nexosolar.android.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deduplicación de operaciones asíncronas concurrentes ("single-flight").
+ *
+ * Mientras una operación con una clave está en curso, las peticiones con la misma clave no
+ * inician otra: se añaden como receptores de la operación en vuelo y reciben el mismo
+ * resultado. Al terminar, la clave queda libre y la siguiente petición vuelve a ejecutarse.
+ *
+ * No cachea resultados: solo comparte el trabajo que coincide en el tiempo.
+ *
+ * @param <K> Tipo de la clave (por ejemplo, el endpoint)
+ * @param <V> Tipo del resultado compartido
+ */
+public class SingleFlight<K, V> {
+
+    // ===== Interfaces internas =====
+
+    /**
+     * Receptor del resultado compartido. Se invoca en el hilo que completa la operación.
+     */
+    public interface Listener<V> {
+        void onSuccess(V result);
+
+        void onError(Throwable error);
+    }
+
+    /**
+     * Operación asíncrona a deduplicar. Debe notificar exactamente una vez al receptor.
+     */
+    public interface Operation<V> {
+        void start(Listener<V> done);
+    }
+
+    // ===== Variables de instancia =====
+
+    private final Map<K, List<Listener<V>>> inFlight = new HashMap<>();
+
+    // ===== Métodos públicos =====
+
+    /**
+     * Ejecuta la operación o se une a la que ya está en curso con la misma clave.
+     *
+     * @param key Clave que identifica peticiones equivalentes
+     * @param operation Trabajo a iniciar si no hay ninguno en vuelo para la clave
+     * @param listener Receptor del resultado compartido
+     * @return true si esta llamada inició la operación; false si se unió a una en curso
+     */
+    public boolean execute(K key, Operation<V> operation, Listener<V> listener) {
+        synchronized (inFlight) {
+            List<Listener<V>> waiters = inFlight.get(key);
+            if (waiters != null) {
+                waiters.add(listener);
+                return false;
+            }
+            waiters = new ArrayList<>();
+            waiters.add(listener);
+            inFlight.put(key, waiters);
+        }
+
+        try {
+            operation.start(new Listener<V>() {
+                @Override
+                public void onSuccess(V result) {
+                    for (Listener<V> waiter : complete(key)) {
+                        waiter.onSuccess(result);
+                    }
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    for (Listener<V> waiter : complete(key)) {
+                        waiter.onError(error);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            for (Listener<V> waiter : complete(key)) {
+                waiter.onError(e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true si hay una operación en curso para la clave
+     */
+    public boolean isInFlight(K key) {
+        synchronized (inFlight) {
+            return inFlight.containsKey(key);
+        }
+    }
+
+    // ===== Métodos privados =====
+
+    /**
+     * Libera la clave y devuelve los receptores acumulados. Las notificaciones repetidas
+     * de una operación defectuosa no llegan a nadie.
+     */
+    private List<Listener<V>> complete(K key) {
+        synchronized (inFlight) {
+            List<Listener<V>> waiters = inFlight.remove(key);
+            return waiters != null ? waiters : Collections.emptyList();
+        }
+    }
+}
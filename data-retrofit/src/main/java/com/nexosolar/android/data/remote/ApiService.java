@@ -5,8 +5,10 @@ import com.nexosolar.android.domain.models.Installation;
 import co.infinum.retromock.meta.Mock;
 import co.infinum.retromock.meta.MockCircular;
 import co.infinum.retromock.meta.MockResponse;
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Streaming;
 
 /**
  * Interfaz de definición de servicios API con soporte para Retrofit y Retromock.
@@ -35,6 +37,25 @@ public interface ApiService {
     @GET("invoices.json")
     Call<InvoiceResponse> getFacturas();
 
+    /**
+     * Obtiene la lista de facturas sin convertir, para leerla en streaming.
+     *
+     * Mismo endpoint y mismas respuestas simuladas que {@link #getFacturas()}, pero el cuerpo
+     * no pasa por el conversor de Gson: con @Streaming tampoco se almacena entero en memoria,
+     * de modo que el llamador puede recorrer el array de facturas elemento a elemento.
+     *
+     * @return Call con el cuerpo HTTP en bruto (debe cerrarse tras leerlo)
+     */
+    @Mock
+    @MockCircular
+    @MockResponse(body = "facturas_500.json")
+    @MockResponse(body = "facturas_todas_impagadas.json")
+    @MockResponse(body = "facturas_algunas_pagadas.json")
+    @MockResponse(body = "facturas_todas_pagadas.json")
+    @Streaming
+    @GET("invoices.json")
+    Call<ResponseBody> getFacturasStream();
+
 
 
 
@@ -4,6 +4,13 @@ package com.nexosolar.android.data.remote;
 import com.google.gson.annotations.SerializedName;
 
 public class InvoiceDto {
+    /**
+     * Identificador de la factura en servidor (opcional).
+     * Si no se envía, la clave estable se deriva del contenido.
+     */
+    @SerializedName("id")
+    public String id;
+
     @SerializedName("descEstado")
     public String status;
 
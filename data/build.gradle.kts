@@ -40,6 +40,11 @@ dependencies {
     val roomVersion = "2.6.1"
     implementation("androidx.room:room-runtime:$roomVersion")
     annotationProcessor("androidx.room:room-compiler:$roomVersion")
+    implementation("androidx.room:room-paging:$roomVersion")
+
+    // Paging 3 (listado paginado desde Room)
+    implementation("androidx.paging:paging-runtime:3.3.6")
+    implementation("androidx.lifecycle:lifecycle-livedata:2.8.7")
 
     // Retrofit
     implementation("com.squareup.retrofit2:retrofit:2.9.0")
@@ -50,4 +55,10 @@ dependencies {
 
     // 3. Desugaring (Importante para LocalDate en Room)
     coreLibraryDesugaring("com.android.tools:desugar_jdk_libs:2.0.4")
+
+    // 4. Testing
+    testImplementation(libs.junit)
+    testImplementation("org.mockito:mockito-core:5.3.1")
+    androidTestImplementation(libs.ext.junit)
+    androidTestImplementation("androidx.test:runner:1.6.2")
 }
@@ -0,0 +1,164 @@
+package com.nexosolar.android.data.local;
+
+import static org.junit.Assert.assertEquals;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.nexosolar.android.domain.models.InvoiceFilters;
+import com.nexosolar.android.domain.models.InvoiceState;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Tests instrumentados para InvoiceDao sobre una base de datos Room en memoria.
+ * Valida con el SQL real de SQLite el volcado de la tabla sombra sobre "facturas" y la
+ * consulta filtrada del listado paginado.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InvoiceDaoTest {
+
+    private AppDatabase database;
+    private InvoiceDao dao;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        dao = database.invoiceDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void swapFromStaging_whenOnlyStateCaseChanges_mergesAndCountsChange() {
+        // GIVEN: Una factura en caché con el estado en minúsculas
+        dao.insertAll(Arrays.asList(invoice(1L, 100f, "pagada"), invoice(2L, 50f, "Anulada")));
+
+        // WHEN: La sincronización trae el mismo estado con otra capitalización
+        dao.stageBatch(Arrays.asList(invoice(1L, 100f, "Pagada"), invoice(2L, 50f, "Anulada")));
+        int changes = dao.swapFromStaging(1_000L);
+
+        // THEN: El cambio se cuenta y se vuelca sobre "facturas"
+        assertEquals("El cambio de mayúsculas debería contarse", 1, changes);
+        assertEquals("Pagada", findById(1L).estado);
+        assertEquals(1, dao.getSyncState(SyncStateEntity.RECURSO_FACTURAS).cambiosAplicados);
+    }
+
+    @Test
+    public void swapFromStaging_withoutChanges_writesNothing() {
+        // GIVEN: La caché coincide exactamente con la respuesta
+        dao.insertAll(Arrays.asList(invoice(1L, 100f, "Pagada"), invoice(2L, 50f, null)));
+
+        // WHEN: Se vuelca la misma respuesta
+        dao.stageBatch(Arrays.asList(invoice(1L, 100f, "Pagada"), invoice(2L, 50f, null)));
+        int changes = dao.swapFromStaging(1_000L);
+
+        // THEN: No se escribe ninguna fila
+        assertEquals(0, changes);
+        assertEquals(2, dao.getAllList().size());
+    }
+
+    @Test
+    public void swapFromStaging_withEmptyStaging_clearsTable() {
+        // GIVEN: Facturas en caché y una respuesta correcta sin facturas
+        dao.insertAll(Arrays.asList(invoice(1L, 100f, "Pagada"), invoice(2L, 50f, "Anulada")));
+
+        // WHEN: Se vuelca la tabla sombra vacía
+        int changes = dao.swapFromStaging(1_000L);
+
+        // THEN: La caché queda vacía
+        assertEquals(2, changes);
+        assertEquals(0, dao.getAllList().size());
+    }
+
+    @Test
+    public void filteredQuery_withStatesDatesAndAmount_returnsMatchingRowsInListOrder() {
+        // GIVEN: Facturas de varios estados, fechas e importes (una sin fecha)
+        dao.insertAll(Arrays.asList(
+                invoice(1L, 100f, "Pagada", LocalDate.of(2025, 1, 10)),
+                invoice(2L, 300f, "pagada", LocalDate.of(2025, 2, 10)),
+                invoice(3L, 200f, "Anulada", LocalDate.of(2025, 2, 20)),
+                invoice(4L, 250f, "Pagada", null),
+                invoice(5L, 900f, "Pagada", LocalDate.of(2025, 2, 15))));
+
+        // WHEN: Se consulta como el listado paginado con estado, rango de fechas e importe
+        InvoiceFilters filters = new InvoiceFilters(EnumSet.of(InvoiceState.PAID),
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 28), 50.0, 500.0);
+        List<Long> ids = queryIds(filters);
+
+        // THEN: SQLite aplica todos los criterios (estado sin distinguir mayúsculas, sin fecha fuera)
+        assertEquals(Arrays.asList(2L, 1L), ids);
+    }
+
+    @Test
+    public void filteredQuery_withDefaultFilters_returnsAllRows() {
+        // GIVEN: Facturas con estado nulo y sin fecha
+        dao.insertAll(Arrays.asList(
+                invoice(1L, 100f, null, null),
+                invoice(2L, 300f, "Pagada", LocalDate.of(2025, 2, 10))));
+
+        // WHEN: Se consulta con los filtros por defecto (sin estado ni fechas)
+        List<Long> ids = queryIds(new InvoiceFilters(null, null, null, 0.0, 300.0));
+
+        // THEN: No se excluye ninguna factura
+        assertEquals(Arrays.asList(2L, 1L), ids);
+    }
+
+    // ===== Utilidades =====
+
+    /**
+     * Ejecuta la misma consulta que InvoiceDao#getFilteredPaged y devuelve las claves en orden.
+     */
+    private List<Long> queryIds(InvoiceFilters filters) {
+        List<Long> ids = new ArrayList<>();
+        try (Cursor cursor = database.query(InvoiceFilterQuery.buildPaged(filters))) {
+            int idColumn = cursor.getColumnIndexOrThrow("id");
+            while (cursor.moveToNext()) {
+                ids.add(cursor.getLong(idColumn));
+            }
+        }
+        return ids;
+    }
+
+    private InvoiceEntity findById(long id) {
+        List<InvoiceEntity> all = dao.getAllList();
+        for (InvoiceEntity entity : all) {
+            if (entity.id == id) {
+                return entity;
+            }
+        }
+        throw new AssertionError("No existe la factura " + id);
+    }
+
+    private static InvoiceEntity invoice(long id, float importe, String estado) {
+        return invoice(id, importe, estado, LocalDate.of(2025, 1, 1));
+    }
+
+    private static InvoiceEntity invoice(long id, float importe, String estado, LocalDate fecha) {
+        InvoiceEntity entity = new InvoiceEntity();
+        entity.id = id;
+        entity.importe = importe;
+        entity.estado = estado;
+        entity.fecha = fecha;
+        return entity;
+    }
+}
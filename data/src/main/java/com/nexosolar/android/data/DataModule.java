@@ -2,15 +2,22 @@ package com.nexosolar.android.data;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import androidx.lifecycle.LiveData;
+import androidx.paging.PagingData;
+import com.nexosolar.android.core.SingleFlight;
 import com.nexosolar.android.data.local.AppDatabase;
 import com.nexosolar.android.data.local.InvoiceDao;
 import com.nexosolar.android.data.remote.ApiClientManager;
 import com.nexosolar.android.data.remote.ApiService;
+import com.nexosolar.android.data.repository.CachePolicy;
 import com.nexosolar.android.data.repository.InstallationRepositoryImpl;
+import com.nexosolar.android.data.repository.InvoicePagingRepositoryImpl;
 import com.nexosolar.android.data.repository.InvoiceRepositoryImpl;
 import com.nexosolar.android.data.source.InvoiceRemoteDataSource;
 import com.nexosolar.android.data.source.InvoiceRemoteDataSourceImpl;
+import com.nexosolar.android.domain.models.Invoice;
 import com.nexosolar.android.domain.repository.InstallationRepository;
+import com.nexosolar.android.domain.repository.InvoicePagingRepository;
 import com.nexosolar.android.domain.repository.InvoiceRepository;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
@@ -25,6 +32,10 @@ public class DataModule {
     private final boolean useMock;
     private final boolean useAlternativeUrl; // Nuevo Flag
 
+    // Compartido por todos los repositorios de facturas de este módulo: una rotación o un
+    // refresco durante la carga en frío se unen a la sincronización en curso
+    private final SingleFlight<String, Integer> invoiceSyncFlight = new SingleFlight<>();
+
     // Constructor actualizado
     public DataModule(Context context, boolean useMock, boolean useAlternativeUrl) {
         this.context = context.getApplicationContext();
@@ -56,7 +67,16 @@ public class DataModule {
         }
 
         InvoiceRemoteDataSource remoteDataSource = new InvoiceRemoteDataSourceImpl(apiService);
-        return new InvoiceRepositoryImpl(remoteDataSource, invoiceDao, this.useMock);
+        return new InvoiceRepositoryImpl(remoteDataSource, invoiceDao,
+                CachePolicy.forInvoices(this.useMock), invoiceSyncFlight);
+    }
+
+    /**
+     * Acceso paginado a la caché local de facturas.
+     * Debe obtenerse después de provideInvoiceRepository(), que limpia la caché si cambió el modo.
+     */
+    public InvoicePagingRepository<LiveData<PagingData<Invoice>>> provideInvoicePagingRepository() {
+        return new InvoicePagingRepositoryImpl(provideInvoiceDao());
     }
 
     public InstallationRepository provideInstallationRepository() {
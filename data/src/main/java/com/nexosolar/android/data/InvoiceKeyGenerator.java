@@ -0,0 +1,80 @@
+package com.nexosolar.android.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Generador de claves estables para facturas.
+ *
+ * La clave se usa como clave primaria en Room y como {@code invoiceID} en dominio,
+ * por lo que debe ser la misma para la misma factura en sincronizaciones sucesivas:
+ * - Si el servidor envía un identificador, la clave se deriva de él.
+ * - Si no, se deriva del contenido inmutable de la factura (fecha e importe). El estado
+ *   no forma parte de la clave porque cambia a lo largo de la vida de la factura.
+ *
+ * Las facturas con el mismo contenido dentro de un lote se distinguen con un contador
+ * de ocurrencia, de modo que la segunda factura idéntica recibe siempre la misma clave.
+ *
+ * Limitaciones de la clave derivada del contenido (sin identificador de servidor):
+ * - Para facturas idénticas, la clave depende del orden de la respuesta: si el servidor
+ *   las reordena entre sí, intercambian clave. Como su contenido es el mismo, en la caché
+ *   y en la lista no se aprecia ningún cambio.
+ * - Una corrección de fecha o importe produce otra clave: la sincronización la trata como
+ *   baja + alta y DiffUtil anima una eliminación y una inserción en lugar de un cambio en
+ *   la misma fila. Solo un {@code id} enviado por el servidor evita ambos casos.
+ *
+ * No es thread-safe: se debe usar una instancia por lote de mapeo.
+ */
+public class InvoiceKeyGenerator {
+
+    // ===== Constantes =====
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    // ===== Variables de instancia =====
+
+    private final Map<Long, Integer> occurrences = new HashMap<>();
+
+    // ===== Métodos públicos =====
+
+    /**
+     * Calcula la clave de una factura del lote actual.
+     *
+     * @param serverId Identificador enviado por el servidor, o null si no existe
+     * @param rawDate Fecha tal y como llega del servidor (puede ser null o inválida)
+     * @param amount Importe de la factura
+     * @return Clave estable distinta de 0 (0 se reserva para "sin identificador")
+     */
+    public long nextKey(String serverId, String rawDate, float amount) {
+        if (serverId != null && !serverId.isEmpty()) {
+            return nonZero(hash(FNV_OFFSET, "id:" + serverId));
+        }
+
+        long base = hash(FNV_OFFSET, "c:" + rawDate + '|' + Float.floatToIntBits(amount));
+        Integer previous = occurrences.get(base);
+        int occurrence = previous == null ? 0 : previous + 1;
+        occurrences.put(base, occurrence);
+
+        return nonZero(occurrence == 0 ? base : hash(base, "#" + occurrence));
+    }
+
+    // ===== Métodos privados =====
+
+    /**
+     * Hash FNV-1a de 64 bits sobre los bytes UTF-8 del texto.
+     */
+    private static long hash(long seed, String text) {
+        long h = seed;
+        for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= FNV_PRIME;
+        }
+        return h;
+    }
+
+    private static long nonZero(long key) {
+        return key != 0 ? key : 1;
+    }
+}
@@ -1,11 +1,10 @@
 package com.nexosolar.android.data;
 
+import com.nexosolar.android.core.EuropeanDateParser;
 import com.nexosolar.android.data.local.InvoiceEntity;
 import com.nexosolar.android.data.remote.InvoiceDto;
 import com.nexosolar.android.domain.models.Invoice;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -35,10 +34,10 @@ public class InvoiceMapper {
         if (entity == null) return null;
 
         Invoice invoice = new Invoice();
+        invoice.setInvoiceID(entity.id);
         invoice.setInvoiceStatus(entity.estado);
         invoice.setInvoiceAmount(entity.importe);
         invoice.setInvoiceDate(entity.fecha);
-        // invoice.setId(entity.id); // Descomentar si el dominio requiere ID
 
         return invoice;
     }
@@ -64,6 +63,7 @@ public class InvoiceMapper {
     // InvoiceMapper.java
     public InvoiceEntity toEntity(Invoice dto) {
         InvoiceEntity entity = new InvoiceEntity();
+        entity.id = dto.getInvoiceID();
         entity.estado = dto.getInvoiceStatus();
         entity.importe = dto.getInvoiceAmount();
         // Aquí conviertes String date (DTO) -> LocalDate (Entity)
@@ -73,29 +73,42 @@ public class InvoiceMapper {
         return entity;
     }
 
+    /**
+     * Convierte la respuesta de la API a entidades con clave estable.
+     * Las claves se calculan por lote para numerar de forma determinista las facturas repetidas.
+     *
+     * @param dtos Facturas recibidas del servidor
+     * @return Lista de entidades (vacía si dtos es null)
+     */
     public List<InvoiceEntity> toEntityListFromDto(List<InvoiceDto> dtos) {
         List<InvoiceEntity> list = new ArrayList<>();
         if (dtos != null) {
+            InvoiceKeyGenerator keyGenerator = new InvoiceKeyGenerator();
             for (InvoiceDto dto : dtos) {
-                list.add(toEntityFromDto(dto));
+                if (dto != null) {
+                    list.add(toEntityFromDto(dto, keyGenerator));
+                }
             }
         }
         return list;
     }
-    private InvoiceEntity toEntityFromDto(InvoiceDto dto) {
-        if (dto == null) return null;
 
+    /**
+     * Convierte una factura recibida del servidor a entidad.
+     * Usado también por la lectura en streaming, que reutiliza un único DTO por registro.
+     *
+     * @param dto Factura recibida del servidor
+     * @param keyGenerator Generador de claves del lote en curso
+     * @return Entidad con clave estable
+     */
+    public InvoiceEntity toEntityFromDto(InvoiceDto dto, InvoiceKeyGenerator keyGenerator) {
         InvoiceEntity entity = new InvoiceEntity();
+        entity.id = keyGenerator.nextKey(dto.id, dto.date, dto.amount);
         entity.estado = dto.status;
         entity.importe = dto.amount;
 
-        try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-            entity.fecha = LocalDate.parse(dto.date, formatter);
-        } catch (Exception e) {
-            // Manejo seguro en caso de error de parsing
-            entity.fecha = null; // o LocalDate.now(), según prefieras
-        }
+        // Fecha inválida o ausente: null (el parser contabiliza los errores de formato)
+        entity.fecha = EuropeanDateParser.parse(dto.date);
 
         return entity;
     }
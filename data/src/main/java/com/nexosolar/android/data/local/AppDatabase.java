@@ -13,9 +13,12 @@ import androidx.room.TypeConverters;
  * Implementa el patrón Singleton thread-safe para garantizar una única instancia
  * en toda la aplicación, evitando overhead de memoria y problemas de concurrencia.
  *
- * Versión actual: 2 (con soporte para LocalDate mediante TypeConverters)
+ * Versión actual: 6 (clave primaria estable e índices de filtrado en facturas, tabla sombra
+ * facturas_staging, tabla sync_state con la marca de agua de sincronización y LocalDate
+ * mediante TypeConverters)
  */
-@Database(entities = {InvoiceEntity.class}, version = 2, exportSchema = false)
+@Database(entities = {InvoiceEntity.class, InvoiceStagingEntity.class, SyncStateEntity.class},
+        version = 6, exportSchema = false)
 @TypeConverters({RoomConverters.class})
 public abstract class AppDatabase extends RoomDatabase {
 
@@ -1,9 +1,14 @@
 package com.nexosolar.android.data.local;
 
+import androidx.paging.PagingSource;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.RawQuery;
+import androidx.room.Transaction;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,14 +21,54 @@ import java.util.List;
 @Dao
 public interface InvoiceDao {
 
+    // ===== Constantes =====
+
+    /**
+     * Orden del listado: fecha descendente (sin fecha al final) y clave como desempate.
+     * Lo comparten la lectura completa y la consulta paginada, de modo que cambiar de modo
+     * no reordena las mismas facturas.
+     */
+    String LIST_ORDER = " ORDER BY fecha DESC, id";
+
+    /**
+     * Condición de fila nueva o modificada entre "facturas" (f) y la tabla sombra (s).
+     * La columna estado tiene colación NOCASE; para detectar cambios se compara en binario,
+     * de modo que un cambio solo de mayúsculas ("pagada" → "Pagada") también se vuelca.
+     */
+    String CHANGED_IN_STAGING = "f.id IS NULL OR f.importe != s.importe "
+            + "OR f.estado IS NOT s.estado COLLATE BINARY OR f.fecha IS NOT s.fecha";
+
+    // ===== Consultas =====
+
     /**
-     * Obtiene todas las facturas almacenadas localmente.
+     * Obtiene todas las facturas almacenadas localmente en el orden {@link #LIST_ORDER}.
+     * El orden es explícito: la clave primaria es un hash, por lo que sin ORDER BY SQLite
+     * devolvería las filas en el orden de la clave y no en el de inserción.
      *
      * @return Lista de entidades de facturas, o lista vacía si no hay datos
      */
-    @Query("SELECT * FROM facturas")
+    @Query("SELECT * FROM facturas" + LIST_ORDER)
     List<InvoiceEntity> getAllList();
 
+    /**
+     * Fuente paginada de las facturas que cumplen los filtros.
+     * Room la invalida automáticamente cuando cambia la tabla "facturas".
+     *
+     * @param query Consulta ordenada construida con {@link InvoiceFilterQuery#buildPaged}
+     * @return PagingSource que carga las páginas bajo demanda
+     */
+    @RawQuery(observedEntities = InvoiceEntity.class)
+    PagingSource<Integer, InvoiceEntity> getFilteredPaged(SupportSQLiteQuery query);
+
+    /**
+     * Calcula el tamaño de la tabla y los límites de importe y fecha en una sola consulta.
+     *
+     * @return Resumen agregado (total 0 si la tabla está vacía)
+     */
+    @Query("SELECT COUNT(*) AS total, IFNULL(MAX(importe), 0) AS maxImporte, "
+            + "MIN(fecha) AS fechaMin, MAX(fecha) AS fechaMax FROM facturas")
+    InvoiceTableSummary getSummary();
+
     /**
      * Inserta o actualiza un lote de facturas en la base de datos.
      *
@@ -38,9 +83,97 @@ public interface InvoiceDao {
     /**
      * Elimina todas las facturas de la base de datos.
      *
-     * Usado antes de insertar datos frescos de la API para mantener
-     * sincronización completa sin datos obsoletos.
+     * Usado al cambiar de origen de datos (mock/real). Para sustituir el contenido
+     * de la tabla usar la tabla sombra y {@link #swapFromStaging(long)}, que es atómico.
      */
     @Query("DELETE FROM facturas")
     void deleteAll();
+
+    // ===== Estado de sincronización =====
+
+    /**
+     * Obtiene la marca de agua de sincronización de un recurso.
+     *
+     * @param recurso Nombre del recurso (ver {@link SyncStateEntity#RECURSO_FACTURAS})
+     * @return Estado de sincronización, o null si nunca se ha sincronizado
+     */
+    @Query("SELECT * FROM sync_state WHERE recurso = :recurso")
+    SyncStateEntity getSyncState(String recurso);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void saveSyncState(SyncStateEntity state);
+
+    // ===== Tabla sombra (sincronizaciones grandes) =====
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insertStaging(List<InvoiceStagingEntity> facturas);
+
+    @Query("DELETE FROM facturas_staging")
+    void clearStaging();
+
+    @Query("SELECT COUNT(*) FROM facturas_staging")
+    int countStaging();
+
+    /**
+     * Cuenta las facturas de la tabla sombra que son nuevas o han cambiado respecto a "facturas".
+     */
+    @Query("SELECT COUNT(*) FROM facturas_staging s LEFT JOIN facturas f ON f.id = s.id "
+            + "WHERE " + CHANGED_IN_STAGING)
+    int countChangedInStaging();
+
+    /**
+     * Vuelca sobre "facturas" solo las filas nuevas o modificadas de la tabla sombra.
+     */
+    @Query("INSERT OR REPLACE INTO facturas (id, importe, estado, fecha) "
+            + "SELECT s.id, s.importe, s.estado, s.fecha FROM facturas_staging s "
+            + "LEFT JOIN facturas f ON f.id = s.id "
+            + "WHERE " + CHANGED_IN_STAGING)
+    void mergeChangedFromStaging();
+
+    /**
+     * Elimina de "facturas" las filas que no existen en la tabla sombra.
+     *
+     * @return Número de filas eliminadas
+     */
+    @Query("DELETE FROM facturas WHERE id NOT IN (SELECT id FROM facturas_staging)")
+    int deleteMissingFromStaging();
+
+    /**
+     * Carga un lote en la tabla sombra.
+     * Cada lote es su propia transacción corta, por lo que la carga no bloquea a los
+     * lectores de "facturas" durante toda la descarga.
+     *
+     * @param facturas Lote de facturas a añadir a la tabla sombra
+     */
+    default void stageBatch(List<InvoiceEntity> facturas) {
+        List<InvoiceStagingEntity> batch = new ArrayList<>(facturas.size());
+        for (InvoiceEntity entity : facturas) {
+            batch.add(InvoiceStagingEntity.from(entity));
+        }
+        insertStaging(batch);
+    }
+
+    /**
+     * Sustituye el contenido de "facturas" por el de la tabla sombra.
+     *
+     * Se ejecuta en una única transacción y solo escribe diferencias (filas nuevas,
+     * modificadas o desaparecidas), resueltas en SQL sin cargar la tabla en memoria.
+     * Una tabla sombra vacía es una respuesta correcta sin facturas y vacía "facturas";
+     * una descarga fallida no llega a llamar a este método, por lo que nunca vacía la caché.
+     *
+     * @param nowMillis Instante de la sincronización, para la marca de agua
+     * @return Número de filas de facturas escritas o eliminadas
+     */
+    @Transaction
+    default int swapFromStaging(long nowMillis) {
+        int total = countStaging();
+        int changed = countChangedInStaging();
+        mergeChangedFromStaging();
+        int deleted = deleteMissingFromStaging();
+        clearStaging();
+
+        saveSyncState(new SyncStateEntity(SyncStateEntity.RECURSO_FACTURAS, nowMillis,
+                total, changed + deleted));
+        return changed + deleted;
+    }
 }
@@ -1,6 +1,8 @@
 package com.nexosolar.android.data.local;
 
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import java.time.LocalDate;
 
@@ -12,17 +14,36 @@ import java.time.LocalDate;
  * el mapeo, siguiendo las convenciones de Room Database.
  *
  * Requiere RoomConverters para manejar el tipo LocalDate.
+ *
+ * Declara índices sobre estado, fecha e importe para que los filtros se resuelvan
+ * en SQLite (ver InvoiceFilterQuery) sin recorrer toda la tabla.
  */
-@Entity(tableName = "facturas")
+@Entity(
+        tableName = "facturas",
+        indices = {
+                @Index("estado"),
+                @Index("fecha"),
+                @Index("importe")
+        }
+)
 public class InvoiceEntity {
 
     // ===== Campos de la entidad =====
 
-    @PrimaryKey(autoGenerate = true)
-    public int id;
+    /**
+     * Clave estable de la factura (ver InvoiceKeyGenerator).
+     * No es autogenerada: se conserva entre sincronizaciones para poder comparar y actualizar.
+     */
+    @PrimaryKey
+    public long id;
 
     public float importe;
 
+    /**
+     * Estado tal y como llega del servidor.
+     * Colación NOCASE: las comparaciones e índice ignoran mayúsculas, igual que InvoiceState#fromServerValue.
+     */
+    @ColumnInfo(collate = ColumnInfo.NOCASE)
     public String estado;
 
     /**
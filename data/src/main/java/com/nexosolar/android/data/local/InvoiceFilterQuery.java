@@ -0,0 +1,133 @@
+package com.nexosolar.android.data.local;
+
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteQuery;
+
+import com.nexosolar.android.domain.models.InvoiceFilters;
+import com.nexosolar.android.domain.models.InvoiceState;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Traduce {@link InvoiceFilters} a una consulta SQL sobre la tabla "facturas".
+ *
+ * Solo se añaden las condiciones de los criterios activos, de modo que SQLite pueda
+ * usar los índices de estado, fecha e importe declarados en {@link InvoiceEntity}
+ * (una condición del tipo "(:param IS NULL OR columna >= :param)" impediría usarlos).
+ *
+ * Mantiene la misma semántica que el filtrado en memoria (FilterInvoicesUseCase):
+ * - Estados null: sin filtro de estado (es el valor de los filtros por defecto).
+ *   Conjunto vacío: ninguna factura.
+ * - Con cualquier límite de fecha activo, las facturas sin fecha quedan fuera.
+ * - Límites inclusivos.
+ */
+public final class InvoiceFilterQuery {
+
+    // ===== Constructores =====
+
+    private InvoiceFilterQuery() {
+        // Clase de utilidad
+    }
+
+    // ===== Métodos públicos =====
+
+    /**
+     * Construye la consulta paginada de facturas que cumplen los filtros.
+     * Usa el mismo orden total que el listado en memoria ({@link InvoiceDao#LIST_ORDER}), que
+     * además mantiene las páginas estables entre invalidaciones; el índice de fecha resuelve
+     * el ORDER BY.
+     *
+     * @param filters Criterios a aplicar (null = todas las facturas)
+     * @return Consulta lista para InvoiceDao#getFilteredPaged
+     */
+    public static SupportSQLiteQuery buildPaged(InvoiceFilters filters) {
+        List<Object> args = new ArrayList<>();
+        String where = buildWhere(filters, args);
+        String sql = "SELECT * FROM facturas" + where + InvoiceDao.LIST_ORDER;
+        return new SimpleSQLiteQuery(sql, args.toArray());
+    }
+
+    /**
+     * Construye la cláusula WHERE (con espacio inicial) o una cadena vacía si no hay filtros.
+     *
+     * @param filters Criterios a aplicar
+     * @param args Lista donde se añaden los argumentos en el orden de los "?"
+     */
+    static String buildWhere(InvoiceFilters filters, List<Object> args) {
+        if (filters == null) {
+            return "";
+        }
+
+        List<String> conditions = new ArrayList<>();
+        appendStateCondition(filters.getStates(), conditions, args);
+
+        LocalDate startDate = filters.getStartDate();
+        LocalDate endDate = filters.getEndDate();
+        if (startDate != null) {
+            conditions.add("fecha >= ?");
+            args.add(startDate.toEpochDay());
+        }
+        if (endDate != null) {
+            conditions.add("fecha <= ?");
+            args.add(endDate.toEpochDay());
+        }
+
+        if (filters.getMinAmount() != null) {
+            conditions.add("importe >= ?");
+            args.add(filters.getMinAmount());
+        }
+        if (filters.getMaxAmount() != null) {
+            conditions.add("importe <= ?");
+            args.add(filters.getMaxAmount());
+        }
+
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    // ===== Métodos privados =====
+
+    /**
+     * Añade la condición de estado.
+     * Los estados se traducen a su valor canónico de servidor; la columna estado usa
+     * colación NOCASE, equivalente a InvoiceState#fromServerValue.
+     */
+    private static void appendStateCondition(Set<InvoiceState> states, List<String> conditions, List<Object> args) {
+        if (states == null) {
+            return;
+        }
+
+        if (states.isEmpty()) {
+            conditions.add("0");
+            return;
+        }
+
+        List<String> alternatives = new ArrayList<>();
+        StringBuilder in = new StringBuilder();
+        for (InvoiceState state : states) {
+            if (state == InvoiceState.UNKNONWN) continue;
+            in.append(in.length() == 0 ? "?" : ", ?");
+            args.add(state.getServerValue());
+        }
+        if (in.length() > 0) {
+            alternatives.add("estado IN (" + in + ")");
+        }
+
+        if (states.contains(InvoiceState.UNKNONWN)) {
+            // Estado desconocido: cualquier valor que no corresponda a un estado conocido
+            StringBuilder known = new StringBuilder();
+            for (InvoiceState state : InvoiceState.values()) {
+                if (state == InvoiceState.UNKNONWN) continue;
+                known.append(known.length() == 0 ? "?" : ", ?");
+                args.add(state.getServerValue());
+            }
+            alternatives.add("(estado IS NULL OR estado NOT IN (" + known + "))");
+        }
+
+        conditions.add(alternatives.size() == 1
+                ? alternatives.get(0)
+                : "(" + String.join(" OR ", alternatives) + ")");
+    }
+}
@@ -0,0 +1,42 @@
+package com.nexosolar.android.data.local;
+
+import androidx.room.Entity;
+import androidx.room.RoomWarnings;
+
+/**
+ * Tabla sombra de facturas ("facturas_staging").
+ *
+ * Tiene las mismas columnas que {@link InvoiceEntity}. Las sincronizaciones muy grandes
+ * se escriben primero aquí, por lotes y fuera de la transacción principal, y después se
+ * vuelcan sobre "facturas" en una única transacción corta (ver InvoiceDao#swapFromStaging).
+ * Así los lectores de "facturas" siempre ven una instantánea completa.
+ *
+ * No hereda los índices de {@link InvoiceEntity}: la tabla sombra solo se escribe y se
+ * recorre entera, y los índices encarecerían la carga por lotes.
+ */
+@SuppressWarnings(RoomWarnings.INDEX_FROM_PARENT_IS_DROPPED)
+@Entity(tableName = "facturas_staging")
+public class InvoiceStagingEntity extends InvoiceEntity {
+
+    // ===== Constructores =====
+
+    /**
+     * Constructor sin argumentos requerido por Room.
+     */
+    public InvoiceStagingEntity() {
+    }
+
+    // ===== Métodos de construcción =====
+
+    /**
+     * Copia una factura a su representación en la tabla sombra.
+     */
+    public static InvoiceStagingEntity from(InvoiceEntity entity) {
+        InvoiceStagingEntity staging = new InvoiceStagingEntity();
+        staging.id = entity.id;
+        staging.importe = entity.importe;
+        staging.estado = entity.estado;
+        staging.fecha = entity.fecha;
+        return staging;
+    }
+}
@@ -0,0 +1,33 @@
+package com.nexosolar.android.data.local;
+
+import java.time.LocalDate;
+
+/**
+ * Resumen agregado de la tabla "facturas" calculado en SQLite.
+ *
+ * Permite conocer el tamaño del conjunto y los límites de los filtros (importe máximo,
+ * fecha más antigua y más reciente) sin cargar las facturas en memoria.
+ */
+public class InvoiceTableSummary {
+
+    // ===== Campos =====
+
+    public int total;
+
+    public float maxImporte;
+
+    /**
+     * Fecha más antigua (null si no hay facturas con fecha).
+     */
+    public LocalDate fechaMin;
+
+    /**
+     * Fecha más reciente (null si no hay facturas con fecha).
+     */
+    public LocalDate fechaMax;
+
+    // ===== Constructores =====
+
+    public InvoiceTableSummary() {
+    }
+}
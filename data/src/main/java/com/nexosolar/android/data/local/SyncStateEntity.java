@@ -0,0 +1,56 @@
+package com.nexosolar.android.data.local;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Marca de agua de sincronización de un recurso remoto.
+ *
+ * Se escribe en la misma transacción que los datos sincronizados, por lo que
+ * siempre describe el contenido real de la tabla correspondiente.
+ */
+@Entity(tableName = "sync_state")
+public class SyncStateEntity {
+
+    // ===== Constantes =====
+
+    public static final String RECURSO_FACTURAS = "facturas";
+
+    // ===== Campos de la entidad =====
+
+    @PrimaryKey
+    @NonNull
+    public String recurso = RECURSO_FACTURAS;
+
+    /**
+     * Instante (epoch millis) de la última sincronización completada.
+     */
+    public long ultimaSincronizacion;
+
+    /**
+     * Número de registros tras la sincronización.
+     */
+    public int totalRegistros;
+
+    /**
+     * Número de filas escritas (upserts + borrados) en la última sincronización.
+     */
+    public int cambiosAplicados;
+
+    // ===== Constructores =====
+
+    /**
+     * Constructor sin argumentos requerido por Room.
+     */
+    public SyncStateEntity() {
+    }
+
+    public SyncStateEntity(@NonNull String recurso, long ultimaSincronizacion,
+                           int totalRegistros, int cambiosAplicados) {
+        this.recurso = recurso;
+        this.ultimaSincronizacion = ultimaSincronizacion;
+        this.totalRegistros = totalRegistros;
+        this.cambiosAplicados = cambiosAplicados;
+    }
+}
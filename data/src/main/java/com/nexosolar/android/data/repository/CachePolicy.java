@@ -0,0 +1,83 @@
+package com.nexosolar.android.data.repository;
+
+import com.nexosolar.android.data.local.SyncStateEntity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Política de frescura de un conjunto de datos cacheado (stale-while-revalidate).
+ *
+ * Un conjunto está obsoleto si nunca se ha sincronizado o si su última sincronización
+ * (marca de agua en sync_state) es más antigua que el TTL. Los datos obsoletos se siguen
+ * sirviendo de inmediato; la política solo decide si hay que revalidar en segundo plano.
+ */
+public final class CachePolicy {
+
+    // ===== Constantes =====
+
+    /**
+     * TTL por defecto del listado de facturas.
+     */
+    public static final long DEFAULT_INVOICE_TTL_MS = TimeUnit.MINUTES.toMillis(15);
+
+    // ===== Variables de instancia =====
+
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    // ===== Constructores =====
+
+    /**
+     * @param ttlMillis Tiempo durante el que los datos se consideran frescos (0 = siempre revalidar)
+     * @param clock Fuente del instante actual en epoch millis (inyectable para tests)
+     */
+    public CachePolicy(long ttlMillis, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    // ===== Métodos de construcción =====
+
+    public static CachePolicy ofTtl(long ttlMillis) {
+        return new CachePolicy(ttlMillis, System::currentTimeMillis);
+    }
+
+    /**
+     * Política del listado de facturas.
+     *
+     * @param alwaysReload true para revalidar en cada lectura; false para usar el TTL por defecto
+     */
+    public static CachePolicy forInvoices(boolean alwaysReload) {
+        return alwaysReload ? alwaysRevalidate() : ofTtl(DEFAULT_INVOICE_TTL_MS);
+    }
+
+    /**
+     * Política que revalida en cada lectura (equivale al antiguo modo alwaysReload),
+     * pero sirviendo igualmente la caché antes de la respuesta remota.
+     */
+    public static CachePolicy alwaysRevalidate() {
+        return ofTtl(0);
+    }
+
+    // ===== Métodos públicos =====
+
+    /**
+     * @param state Marca de agua del conjunto, o null si nunca se ha sincronizado
+     * @return true si hay que revalidar contra la fuente remota
+     */
+    public boolean isStale(SyncStateEntity state) {
+        if (state == null) {
+            return true;
+        }
+        return now() - state.ultimaSincronizacion >= ttlMillis;
+    }
+
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+}
@@ -0,0 +1,112 @@
+package com.nexosolar.android.data.repository;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Transformations;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingDataTransforms;
+import androidx.paging.PagingLiveData;
+
+import com.nexosolar.android.data.InvoiceMapper;
+import com.nexosolar.android.data.local.InvoiceDao;
+import com.nexosolar.android.data.local.InvoiceEntity;
+import com.nexosolar.android.data.local.InvoiceFilterQuery;
+import com.nexosolar.android.data.local.InvoiceTableSummary;
+import com.nexosolar.android.domain.models.Invoice;
+import com.nexosolar.android.domain.models.InvoiceFilters;
+import com.nexosolar.android.domain.models.InvoiceSummary;
+import com.nexosolar.android.domain.repository.InvoicePagingRepository;
+import com.nexosolar.android.domain.repository.RepositoryCallback;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Acceso paginado a las facturas almacenadas en Room.
+ *
+ * Los filtros se traducen a parámetros de la consulta (ver InvoiceFilterQuery) y Paging 3
+ * carga solo la ventana visible más un margen de precarga. Con maxSize acotado, las páginas
+ * alejadas de la posición actual se descartan, de modo que la memoria no crece con el
+ * tamaño de la cuenta.
+ *
+ * Implementa el contrato de dominio con LiveData de PagingData como flujo de páginas:
+ * Paging y LiveData quedan en data y el dominio no depende de ellos.
+ */
+public class InvoicePagingRepositoryImpl implements InvoicePagingRepository<LiveData<PagingData<Invoice>>> {
+
+    // ===== Constantes =====
+
+    static final int PAGE_SIZE = 50;
+    static final int PREFETCH_DISTANCE = 50;
+    static final int MAX_SIZE = 300;
+
+    // ===== Variables de instancia =====
+
+    private final InvoiceDao invoiceDao;
+    private final InvoiceMapper mapper;
+    private final ExecutorService executor;
+
+    // ===== Constructores =====
+
+    public InvoicePagingRepositoryImpl(InvoiceDao invoiceDao) {
+        this.invoiceDao = invoiceDao;
+        this.mapper = new InvoiceMapper();
+        this.executor = Executors.newSingleThreadExecutor();
+    }
+
+    // ===== Métodos públicos =====
+
+    /**
+     * Crea el flujo paginado de facturas que cumplen los filtros.
+     * Cada cambio de filtros debe crear un flujo nuevo.
+     *
+     * @param filters Criterios a aplicar como parámetros de la consulta
+     * @return LiveData con las páginas ya mapeadas a dominio
+     */
+    @Override
+    public LiveData<PagingData<Invoice>> getPagedInvoices(InvoiceFilters filters) {
+        PagingConfig config = new PagingConfig(
+                PAGE_SIZE,
+                PREFETCH_DISTANCE,
+                false,
+                PAGE_SIZE * 2,
+                MAX_SIZE
+        );
+
+        Pager<Integer, InvoiceEntity> pager = new Pager<>(
+                config,
+                () -> invoiceDao.getFilteredPaged(InvoiceFilterQuery.buildPaged(filters))
+        );
+
+        return Transformations.map(
+                PagingLiveData.getLiveData(pager),
+                page -> PagingDataTransforms.map(page, executor, mapper::toDomain)
+        );
+    }
+
+    /**
+     * Obtiene el resumen agregado de la tabla (tamaño y límites de filtros).
+     *
+     * @param callback Callback con el resumen, invocado en un hilo de fondo
+     */
+    @Override
+    public void getSummary(RepositoryCallback<InvoiceSummary> callback) {
+        executor.execute(() -> {
+            try {
+                callback.onSuccess(toDomain(invoiceDao.getSummary()));
+            } catch (Exception e) {
+                callback.onError(e);
+            }
+        });
+    }
+
+    // ===== Métodos privados =====
+
+    private static InvoiceSummary toDomain(InvoiceTableSummary summary) {
+        if (summary == null) {
+            return InvoiceSummary.EMPTY;
+        }
+        return new InvoiceSummary(summary.total, summary.maxImporte, summary.fechaMin, summary.fechaMax);
+    }
+}
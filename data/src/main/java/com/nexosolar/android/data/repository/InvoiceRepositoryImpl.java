@@ -1,13 +1,18 @@
 package com.nexosolar.android.data.repository;
 
+import com.nexosolar.android.core.SingleFlight;
 import com.nexosolar.android.data.InvoiceMapper;
 import com.nexosolar.android.data.local.InvoiceDao;
 import com.nexosolar.android.data.local.InvoiceEntity;
+import com.nexosolar.android.data.local.SyncStateEntity;
 import com.nexosolar.android.data.source.InvoiceRemoteDataSource;
 import com.nexosolar.android.domain.models.Invoice;
 import com.nexosolar.android.domain.repository.InvoiceRepository;
 import com.nexosolar.android.domain.repository.RepositoryCallback;
+import com.nexosolar.android.domain.repository.StreamObserver;
+import com.nexosolar.android.domain.repository.Subscription;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -17,46 +22,151 @@ import java.util.concurrent.Executors;
  */
 public class InvoiceRepositoryImpl implements InvoiceRepository {
 
+    /**
+     * Tamaño de cada lote leído de la respuesta y escrito en la tabla sombra.
+     * Acota la memoria de una sincronización, sea cual sea el tamaño de la respuesta.
+     */
+    static final int STAGING_BATCH_SIZE = 1_000;
+
+    /**
+     * Clave de deduplicación de la sincronización del listado (endpoint remoto de facturas).
+     */
+    static final String ENDPOINT_FACTURAS = "GET facturas";
+
     private final InvoiceRemoteDataSource remoteDataSource;
     private final InvoiceDao localDataSource;
     private final InvoiceMapper mapper;
     private final ExecutorService executor;
-    private final boolean alwaysReload;
+    private final ExecutorService syncExecutor;
+    private final CachePolicy cachePolicy;
+    private final SingleFlight<String, Integer> syncFlight;
 
+    /**
+     * @param alwaysReload true para revalidar en cada lectura (TTL 0); false para usar el TTL por defecto
+     */
     public InvoiceRepositoryImpl(InvoiceRemoteDataSource remoteDataSource,
                                  InvoiceDao localDataSource,
                                  boolean alwaysReload) {
+        this(remoteDataSource, localDataSource, CachePolicy.forInvoices(alwaysReload), new SingleFlight<>());
+    }
+
+    /**
+     * @param syncFlight Deduplicador de sincronizaciones; compartirlo entre instancias del
+     *                   repositorio (por ejemplo, tras una rotación) evita descargas y
+     *                   escrituras duplicadas mientras una sincronización está en curso
+     */
+    public InvoiceRepositoryImpl(InvoiceRemoteDataSource remoteDataSource,
+                                 InvoiceDao localDataSource,
+                                 CachePolicy cachePolicy,
+                                 SingleFlight<String, Integer> syncFlight) {
         this.remoteDataSource = remoteDataSource;
         this.localDataSource = localDataSource;
         this.mapper = new InvoiceMapper();
         this.executor = Executors.newSingleThreadExecutor();
-        this.alwaysReload = alwaysReload;
+        this.syncExecutor = Executors.newSingleThreadExecutor();
+        this.cachePolicy = cachePolicy;
+        this.syncFlight = syncFlight;
     }
 
+    /**
+     * Adaptador de una sola respuesta sobre {@link #observeInvoices}: la primera emisión
+     * (caché o red) llega por onSuccess y una emisión de red posterior, por onUpdate.
+     * Los errores solo se notifican si todavía no se había entregado ningún dato.
+     */
     @Override
     public void getInvoices(RepositoryCallback<List<Invoice>> callback) {
+        observeInvoices(false, new StreamObserver<List<Invoice>>() {
+            // Todas las emisiones llegan desde el executor de un solo hilo
+            private boolean delivered;
+
+            @Override
+            public void onCache(List<Invoice> data) {
+                delivered = true;
+                callback.onSuccess(data);
+            }
+
+            @Override
+            public void onNetwork(List<Invoice> data) {
+                if (delivered) {
+                    callback.onUpdate(data);
+                } else {
+                    delivered = true;
+                    callback.onSuccess(data);
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                if (!delivered) {
+                    callback.onError(error);
+                }
+            }
+        });
+    }
+
+    /**
+     * Stale-while-revalidate: si hay caché se emite de inmediato por onCache; después se
+     * sincroniza con la red si no hay caché, si se fuerza o si la última sincronización es
+     * más antigua que el TTL. El listado sincronizado llega por onNetwork solo si cambió
+     * algo o si no se había emitido caché.
+     */
+    @Override
+    public Subscription observeInvoices(boolean forceRefresh, StreamObserver<List<Invoice>> observer) {
+        StreamSubscription subscription = new StreamSubscription();
+
         executor.execute(() -> {
+            if (subscription.isCancelled()) return;
+
             List<InvoiceEntity> localData = localDataSource.getAllList();
-            boolean hasData = localData != null && !localData.isEmpty();
+            boolean hasCache = localData != null && !localData.isEmpty();
+
+            if (hasCache) {
+                observer.onCache(mapper.toDomainList(localData));
 
-            if (alwaysReload || !hasData) {
-                fetchFromNetwork(callback, localData);
-            } else {
-                // Devuelve caché local
-                callback.onSuccess(mapper.toDomainList(localData));
+                if (isCacheFresh(forceRefresh)) {
+                    observer.onComplete();
+                    return;
+                }
             }
+
+            syncFromNetwork(subscription, observer, hasCache);
+        });
+
+        return subscription;
+    }
+
+    /**
+     * Misma política de frescura que {@link #observeInvoices}, pero sin leer ni emitir el
+     * listado: la caché solo se consulta para la marca de agua de sincronización.
+     */
+    @Override
+    public void revalidateInvoices(boolean forceRefresh, RepositoryCallback<Boolean> callback) {
+        executor.execute(() -> {
+            if (isCacheFresh(forceRefresh)) {
+                callback.onSuccess(false);
+                return;
+            }
+
+            syncShared(new SingleFlight.Listener<Integer>() {
+                @Override
+                public void onSuccess(Integer changes) {
+                    callback.onSuccess(changes > 0);
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    callback.onError(error);
+                }
+            });
         });
     }
 
     @Override
     public void refreshInvoices(RepositoryCallback<Boolean> callback) {
-        remoteDataSource.getFacturas(new RepositoryCallback<List<InvoiceEntity>>() {
+        syncShared(new SingleFlight.Listener<Integer>() {
             @Override
-            public void onSuccess(List<InvoiceEntity> entities) {
-                executor.execute(() -> {
-                    saveToDatabase(entities);
-                    if (callback != null) callback.onSuccess(true);
-                });
+            public void onSuccess(Integer changes) {
+                if (callback != null) callback.onSuccess(true);
             }
 
             @Override
@@ -66,32 +176,89 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
         });
     }
 
-    private void fetchFromNetwork(RepositoryCallback<List<Invoice>> callback, List<InvoiceEntity> localCache) {
-        remoteDataSource.getFacturas(new RepositoryCallback<List<InvoiceEntity>>() {
+    /**
+     * @param forceRefresh true si el llamador pide sincronizar aunque la caché siga vigente
+     * @return true si no hay que sincronizar: no se fuerza y la última sincronización está
+     *         dentro del TTL de la política de caché
+     */
+    private boolean isCacheFresh(boolean forceRefresh) {
+        if (forceRefresh) {
+            return false;
+        }
+        SyncStateEntity syncState = localDataSource.getSyncState(SyncStateEntity.RECURSO_FACTURAS);
+        return !cachePolicy.isStale(syncState);
+    }
+
+    /**
+     * Sincroniza con la red y emite el resultado.
+     * La escritura se completa aunque la suscripción se cancele, para dejar la caché coherente.
+     */
+    private void syncFromNetwork(StreamSubscription subscription,
+                                 StreamObserver<List<Invoice>> observer,
+                                 boolean cacheEmitted) {
+        syncShared(new SingleFlight.Listener<Integer>() {
             @Override
-            public void onSuccess(List<InvoiceEntity> entities) {
+            public void onSuccess(Integer changes) {
                 executor.execute(() -> {
-                    saveToDatabase(entities);
-                    callback.onSuccess(mapper.toDomainList(entities));
+                    if (subscription.isCancelled()) return;
+
+                    if (changes > 0 || !cacheEmitted) {
+                        // Se relee de Room para entregar el mismo orden que la lectura de caché
+                        observer.onNetwork(mapper.toDomainList(localDataSource.getAllList()));
+                    }
+                    observer.onComplete();
                 });
             }
 
             @Override
             public void onError(Throwable error) {
                 executor.execute(() -> {
-                    if (localCache != null && !localCache.isEmpty()) {
-                        // Devuelve caché
-                        callback.onSuccess(mapper.toDomainList(localCache));
-                    } else {
-                        callback.onError(error);
+                    if (!subscription.isCancelled()) {
+                        observer.onError(error);
                     }
                 });
             }
         });
     }
 
-    private void saveToDatabase(List<InvoiceEntity> entities) {
-        localDataSource.deleteAll();
-        localDataSource.insertAll(entities);
+    /**
+     * Descarga el listado remoto y lo escribe en Room una sola vez por ráfaga de peticiones:
+     * si ya hay una sincronización en vuelo, el receptor se une a ella y recibe el mismo
+     * número de cambios, sin otra llamada HTTP ni otra escritura.
+     *
+     * Se ejecuta en un hilo propio porque la descarga en streaming es bloqueante y no debe
+     * retrasar las lecturas de caché del executor principal.
+     */
+    private void syncShared(SingleFlight.Listener<Integer> listener) {
+        syncFlight.execute(ENDPOINT_FACTURAS, done -> syncExecutor.execute(() -> {
+            try {
+                done.onSuccess(streamToDatabase());
+            } catch (Exception e) {
+                done.onError(e);
+            }
+        }), listener);
+    }
+
+    /**
+     * Sincroniza la caché local con la respuesta remota leída en streaming.
+     *
+     * Cada lote del parser se escribe directamente en la tabla sombra, de modo que nunca
+     * hay en memoria más de STAGING_BATCH_SIZE facturas. Al terminar la descarga, la tabla
+     * sombra se vuelca sobre "facturas" escribiendo solo diferencias en una transacción
+     * corta (ver InvoiceDao#swapFromStaging). Una respuesta correcta sin facturas vacía la
+     * caché; si la descarga falla a medias, se descarta la tabla sombra y "facturas" no se modifica.
+     *
+     * @return Número de filas insertadas, modificadas o eliminadas
+     * @throws IOException Si falla la descarga o la respuesta está mal formada
+     */
+    private int streamToDatabase() throws IOException {
+        localDataSource.clearStaging();
+        try {
+            remoteDataSource.streamFacturas(localDataSource::stageBatch, STAGING_BATCH_SIZE);
+        } catch (IOException | RuntimeException e) {
+            localDataSource.clearStaging();
+            throw e;
+        }
+        return localDataSource.swapFromStaging(cachePolicy.now());
     }
 }
@@ -0,0 +1,28 @@
+package com.nexosolar.android.data.repository;
+
+import com.nexosolar.android.domain.repository.Subscription;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Suscripción básica respaldada por un indicador atómico.
+ * El productor consulta isCancelled() antes de cada emisión.
+ */
+final class StreamSubscription implements Subscription {
+
+    // ===== Variables de instancia =====
+
+    private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+    // ===== Métodos públicos =====
+
+    @Override
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled.get();
+    }
+}
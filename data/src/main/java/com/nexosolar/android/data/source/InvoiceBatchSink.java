@@ -0,0 +1,20 @@
+package com.nexosolar.android.data.source;
+
+import com.nexosolar.android.data.local.InvoiceEntity;
+
+import java.util.List;
+
+/**
+ * Destino de los lotes de facturas leídos en streaming desde la fuente remota.
+ */
+public interface InvoiceBatchSink {
+
+    /**
+     * Recibe un lote de facturas ya mapeadas a entidades.
+     * La lista se reutiliza para el siguiente lote al volver de este método,
+     * por lo que no debe conservarse.
+     *
+     * @param batch Lote de facturas (nunca vacío)
+     */
+    void accept(List<InvoiceEntity> batch);
+}
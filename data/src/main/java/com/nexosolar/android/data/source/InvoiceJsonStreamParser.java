@@ -0,0 +1,148 @@
+package com.nexosolar.android.data.source;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+import com.nexosolar.android.data.InvoiceKeyGenerator;
+import com.nexosolar.android.data.InvoiceMapper;
+import com.nexosolar.android.data.local.InvoiceEntity;
+import com.nexosolar.android.data.remote.InvoiceDto;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector en streaming de la respuesta de facturas ({"numFacturas": n, "facturas": [...]}).
+ *
+ * Recorre el array "facturas" token a token con {@link JsonReader}: cada registro se
+ * vuelca en un único {@link InvoiceDto} reutilizado, se mapea a entidad y se acumula en
+ * un lote de tamaño fijo que se entrega al {@link InvoiceBatchSink} al llenarse.
+ * La memoria ocupada depende del tamaño de lote, no del tamaño de la respuesta
+ * (salvo el contador de facturas repetidas de {@link InvoiceKeyGenerator}).
+ *
+ * Los nombres de campo son los de {@link InvoiceDto}; los campos desconocidos se ignoran.
+ */
+public class InvoiceJsonStreamParser {
+
+    // ===== Constantes =====
+
+    private static final String FIELD_FACTURAS = "facturas";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_ESTADO = "descEstado";
+    private static final String FIELD_IMPORTE = "importeOrdenacion";
+    private static final String FIELD_FECHA = "fecha";
+
+    // ===== Variables de instancia =====
+
+    private final InvoiceMapper mapper;
+
+    // ===== Constructores =====
+
+    public InvoiceJsonStreamParser(InvoiceMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    // ===== Métodos públicos =====
+
+    /**
+     * Lee la respuesta completa y entrega las facturas por lotes.
+     *
+     * @param source Cuerpo de la respuesta (no se cierra aquí)
+     * @param sink Destino de cada lote
+     * @param batchSize Número máximo de facturas por lote
+     * @return Número total de facturas leídas
+     * @throws MalformedJsonException Si el JSON está mal formado, truncado o con tipos inesperados
+     * @throws IOException Si falla la lectura del cuerpo
+     */
+    public int parse(Reader source, InvoiceBatchSink sink, int batchSize) throws IOException {
+        try {
+            return read(new JsonReader(source), sink, batchSize);
+        } catch (EOFException | IllegalStateException | NumberFormatException e) {
+            // JsonReader señala así el cuerpo truncado y los tokens de tipo inesperado:
+            // se unifican como respuesta mal formada, distinta de un fallo de red
+            throw new MalformedJsonException("Respuesta de facturas mal formada: " + e.getMessage(), e);
+        }
+    }
+
+    // ===== Métodos privados =====
+
+    private int read(JsonReader reader, InvoiceBatchSink sink, int batchSize) throws IOException {
+        InvoiceKeyGenerator keyGenerator = new InvoiceKeyGenerator();
+        InvoiceDto dto = new InvoiceDto();
+        List<InvoiceEntity> batch = new ArrayList<>(batchSize);
+        int total = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (!FIELD_FACTURAS.equals(reader.nextName()) || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                continue;
+            }
+
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+
+                readInvoice(reader, dto);
+                batch.add(mapper.toEntityFromDto(dto, keyGenerator));
+                total++;
+
+                if (batch.size() >= batchSize) {
+                    sink.accept(batch);
+                    batch.clear();
+                }
+            }
+            reader.endArray();
+        }
+        reader.endObject();
+
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+        }
+        return total;
+    }
+
+    /**
+     * Vuelca el objeto actual sobre el DTO reutilizado, limpiando antes los valores previos.
+     */
+    private void readInvoice(JsonReader reader, InvoiceDto dto) throws IOException {
+        dto.id = null;
+        dto.status = null;
+        dto.amount = 0f;
+        dto.date = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+
+            switch (name) {
+                case FIELD_ID:
+                    dto.id = reader.nextString();
+                    break;
+                case FIELD_ESTADO:
+                    dto.status = reader.nextString();
+                    break;
+                case FIELD_IMPORTE:
+                    dto.amount = (float) reader.nextDouble();
+                    break;
+                case FIELD_FECHA:
+                    dto.date = reader.nextString();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+    }
+}
@@ -1,8 +1,6 @@
 package com.nexosolar.android.data.source;
 
-import com.nexosolar.android.data.local.InvoiceEntity;
-import com.nexosolar.android.domain.repository.RepositoryCallback;
-import java.util.List;
+import java.io.IOException;
 
 /**
  * Interfaz para el origen de datos remoto de facturas.
@@ -17,9 +15,15 @@ import java.util.List;
 public interface InvoiceRemoteDataSource {
 
     /**
-     * Obtiene la lista de facturas desde la fuente remota.
+     * Descarga las facturas leyendo la respuesta en streaming y las entrega por lotes,
+     * sin construir la lista completa en memoria.
      *
-     * @param callback Callback para notificar el resultado (lista de entidades o error)
+     * Es bloqueante: debe llamarse desde un hilo de fondo.
+     *
+     * @param sink Destino de cada lote de entidades
+     * @param batchSize Número máximo de facturas por lote
+     * @return Número total de facturas recibidas
+     * @throws IOException Si falla la red o la respuesta está mal formada
      */
-    void getFacturas(RepositoryCallback<List<InvoiceEntity>> callback);
+    int streamFacturas(InvoiceBatchSink sink, int batchSize) throws IOException;
 }
@@ -1,24 +1,20 @@
 package com.nexosolar.android.data.source;
 
-import android.util.Log;
-
 import com.nexosolar.android.data.InvoiceMapper;
-import com.nexosolar.android.data.local.InvoiceDao;
-import com.nexosolar.android.data.local.InvoiceEntity;
 import com.nexosolar.android.data.remote.ApiService;
-import com.nexosolar.android.data.remote.InvoiceResponse;
-import com.nexosolar.android.domain.repository.RepositoryCallback;
-import java.util.List;
-import retrofit2.Call;
-import retrofit2.Callback;
+
+import java.io.IOException;
+
+import okhttp3.ResponseBody;
+import retrofit2.HttpException;
 import retrofit2.Response;
 
 /**
  * Implementación del origen de datos remoto para facturas usando Retrofit.
  *
  * Encapsula toda la lógica de comunicación con la API REST, incluyendo
- * el manejo de respuestas HTTP y el mapeo de DTOs (InvoiceResponse) a
- * entidades de base de datos (InvoiceEntity).
+ * el manejo de respuestas HTTP y el mapeo de la respuesta JSON, leída en
+ * streaming, a entidades de base de datos (InvoiceEntity).
  *
  * Esta capa actúa como barrera entre el protocolo HTTP y el resto de la
  * aplicación, traduciendo errores de red en excepciones manejables.
@@ -28,51 +24,43 @@ public class InvoiceRemoteDataSourceImpl implements InvoiceRemoteDataSource {
     // ===== Variables de instancia =====
 
     private final ApiService apiService;
-    private final InvoiceMapper mapper;
+    private final InvoiceJsonStreamParser streamParser;
 
     // ===== Constructores =====
 
     public InvoiceRemoteDataSourceImpl(ApiService apiService) {
         this.apiService = apiService;
-        this.mapper = new InvoiceMapper();
+        this.streamParser = new InvoiceJsonStreamParser(new InvoiceMapper());
     }
 
-
-
-
     // ===== Métodos públicos =====
 
     /**
-     * Obtiene facturas desde la API y las transforma a entidades.
+     * Descarga las facturas en streaming.
      *
-     * Realiza la llamada HTTP asíncrona, valida la respuesta y mapea los DTOs
-     * de la respuesta JSON a entidades de Room. Los errores HTTP se convierten
-     * en excepciones con mensajes descriptivos.
+     * La llamada se ejecuta de forma síncrona en el hilo actual y el cuerpo se recorre con
+     * {@link InvoiceJsonStreamParser} mientras llega, sin pasar por el conversor de Gson
+     * (que construiría antes la lista completa de DTOs). Los errores HTTP se lanzan como
+     * HttpException, que ErrorClassifier identifica como error de servidor.
      *
-     * @param callback Callback para notificar el resultado de la operación
+     * @param sink Destino de cada lote de entidades
+     * @param batchSize Número máximo de facturas por lote
+     * @return Número total de facturas recibidas
      */
     @Override
-    public void getFacturas(RepositoryCallback<List<InvoiceEntity>> callback) {
-        apiService.getFacturas().enqueue(new Callback<InvoiceResponse>() {
-            @Override
-            public void onResponse(Call<InvoiceResponse> call, Response<InvoiceResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-
-                    List<InvoiceEntity> entities = mapper.toEntityListFromDto(response.body().getFacturas());
-                    callback.onSuccess(entities);
-                } else {
-                    callback.onError(new Exception("Error del servidor: " + response.code()));
-                }
+    public int streamFacturas(InvoiceBatchSink sink, int batchSize) throws IOException {
+        Response<ResponseBody> response = apiService.getFacturasStream().execute();
+        if (!response.isSuccessful() || response.body() == null) {
+            // Se cierra el cuerpo de error para liberar la conexión antes de propagar el fallo
+            ResponseBody errorBody = response.errorBody();
+            if (errorBody != null) {
+                errorBody.close();
             }
+            throw new HttpException(response);
+        }
 
-            @Override
-            public void onFailure(Call<InvoiceResponse> call, Throwable t) {
-                Log.e("API_DEBUG", "Fallo total: " + t.getMessage()); // <--- MIRA ESTO EN LOGCAT
-                t.printStackTrace();
-                callback.onError(t);
-            }
-
-        });
+        try (ResponseBody body = response.body()) {
+            return streamParser.parse(body.charStream(), sink, batchSize);
+        }
     }
-
 }
@@ -0,0 +1,81 @@
+package com.nexosolar.android.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tests unitarios para InvoiceKeyGenerator.
+ * Valida que la clave primaria de las facturas es estable entre sincronizaciones y no colisiona.
+ */
+public class InvoiceKeyGeneratorTest {
+
+    @Test
+    public void nextKey_withServerId_ignoresContent() {
+        // GIVEN: La misma factura de servidor con el importe y la fecha corregidos
+        long original = new InvoiceKeyGenerator().nextKey("F-001", "01/02/2025", 120f);
+        long corrected = new InvoiceKeyGenerator().nextKey("F-001", "02/02/2025", 125f);
+
+        // THEN: La clave solo depende del identificador de servidor
+        assertEquals("El id de servidor debería prevalecer sobre el contenido", original, corrected);
+    }
+
+    @Test
+    public void nextKey_withServerId_differsFromContentKey() {
+        // WHEN: Se calcula la clave de la misma factura con y sin id de servidor
+        long withId = new InvoiceKeyGenerator().nextKey("F-001", "01/02/2025", 120f);
+        long withoutId = new InvoiceKeyGenerator().nextKey(null, "01/02/2025", 120f);
+
+        // THEN: Se usa el id de servidor y no la clave derivada del contenido
+        assertNotEquals("Con id de servidor no debería usarse la clave de contenido", withoutId, withId);
+    }
+
+    @Test
+    public void nextKey_withoutServerId_isStableAcrossSyncs() {
+        // GIVEN: Dos sincronizaciones con la misma respuesta (un generador por lote)
+        InvoiceKeyGenerator firstSync = new InvoiceKeyGenerator();
+        InvoiceKeyGenerator secondSync = new InvoiceKeyGenerator();
+
+        // THEN: Cada factura recibe la misma clave en ambas sincronizaciones
+        assertEquals(firstSync.nextKey(null, "01/02/2025", 120f), secondSync.nextKey(null, "01/02/2025", 120f));
+        assertEquals(firstSync.nextKey("", "15/03/2025", 80.5f), secondSync.nextKey("", "15/03/2025", 80.5f));
+        assertEquals(firstSync.nextKey(null, null, 0f), secondSync.nextKey(null, null, 0f));
+    }
+
+    @Test
+    public void nextKey_withIdenticalRows_assignsDistinctStableKeys() {
+        // GIVEN: Tres facturas con la misma fecha e importe en un lote
+        InvoiceKeyGenerator firstSync = new InvoiceKeyGenerator();
+        long first = firstSync.nextKey(null, "01/02/2025", 120f);
+        long second = firstSync.nextKey(null, "01/02/2025", 120f);
+        long third = firstSync.nextKey(null, "01/02/2025", 120f);
+
+        // THEN: Cada ocurrencia tiene su propia clave y no colisiona en la clave primaria
+        Set<Long> keys = new HashSet<>();
+        keys.add(first);
+        keys.add(second);
+        keys.add(third);
+        assertEquals("Las facturas repetidas no deberían compartir clave", 3, keys.size());
+
+        // AND: En la siguiente sincronización cada ocurrencia conserva su clave
+        InvoiceKeyGenerator secondSync = new InvoiceKeyGenerator();
+        assertEquals(first, secondSync.nextKey(null, "01/02/2025", 120f));
+        assertEquals(second, secondSync.nextKey(null, "01/02/2025", 120f));
+        assertEquals(third, secondSync.nextKey(null, "01/02/2025", 120f));
+    }
+
+    @Test
+    public void nextKey_neverReturnsZero() {
+        // GIVEN: Un lote con contenidos variados
+        InvoiceKeyGenerator generator = new InvoiceKeyGenerator();
+
+        // THEN: 0 queda reservado para "sin identificador"
+        for (int i = 0; i < 1_000; i++) {
+            assertNotEquals(0L, generator.nextKey(i % 2 == 0 ? null : "id-" + i, "01/01/2025", i));
+        }
+    }
+}
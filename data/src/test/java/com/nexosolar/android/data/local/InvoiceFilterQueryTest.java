@@ -0,0 +1,105 @@
+package com.nexosolar.android.data.local;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.nexosolar.android.domain.models.InvoiceFilters;
+import com.nexosolar.android.domain.models.InvoiceState;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Tests unitarios para InvoiceFilterQuery.
+ * Valida que cada criterio activo se traduce a su condición SQL y a sus argumentos,
+ * y que los criterios inactivos no añaden condiciones.
+ */
+public class InvoiceFilterQueryTest {
+
+    @Test
+    public void buildWhere_withNullFilters_returnsEmptyClause() {
+        // WHEN: Se construye la cláusula sin filtros
+        List<Object> args = new ArrayList<>();
+        String where = InvoiceFilterQuery.buildWhere(null, args);
+
+        // THEN: No hay condiciones ni argumentos
+        assertEquals("", where);
+        assertTrue(args.isEmpty());
+    }
+
+    @Test
+    public void buildWhere_withDefaultFilters_onlyFiltersAmount() {
+        // GIVEN: Filtros por defecto (sin estado ni fechas)
+        InvoiceFilters filters = new InvoiceFilters(null, null, null, 0.0, 500.0);
+
+        // WHEN: Se construye la cláusula
+        List<Object> args = new ArrayList<>();
+        String where = InvoiceFilterQuery.buildWhere(filters, args);
+
+        // THEN: Solo se filtra por importe, sin condición de estado
+        assertEquals(" WHERE importe >= ? AND importe <= ?", where);
+        assertEquals(Arrays.<Object>asList(0.0, 500.0), args);
+    }
+
+    @Test
+    public void buildWhere_withStates_usesServerValues() {
+        // GIVEN: Filtro por dos estados conocidos
+        InvoiceFilters filters = new InvoiceFilters(
+                EnumSet.of(InvoiceState.PAID, InvoiceState.CANCELLED), null, null, null, null);
+
+        // WHEN: Se construye la cláusula
+        List<Object> args = new ArrayList<>();
+        String where = InvoiceFilterQuery.buildWhere(filters, args);
+
+        // THEN: Los estados se comparan por su valor de servidor
+        assertEquals(" WHERE estado IN (?, ?)", where);
+        assertEquals(Arrays.<Object>asList("Pagada", "Anulada"), args);
+    }
+
+    @Test
+    public void buildWhere_withEmptyStates_matchesNothing() {
+        // GIVEN: Conjunto de estados vacío
+        InvoiceFilters filters = new InvoiceFilters(EnumSet.noneOf(InvoiceState.class), null, null, null, null);
+
+        // WHEN: Se construye la cláusula
+        String where = InvoiceFilterQuery.buildWhere(filters, new ArrayList<>());
+
+        // THEN: Ninguna factura cumple la condición
+        assertEquals(" WHERE 0", where);
+    }
+
+    @Test
+    public void buildWhere_withUnknownState_excludesKnownValues() {
+        // GIVEN: Filtro solo por estado desconocido
+        InvoiceFilters filters = new InvoiceFilters(EnumSet.of(InvoiceState.UNKNONWN), null, null, null, null);
+
+        // WHEN: Se construye la cláusula
+        List<Object> args = new ArrayList<>();
+        String where = InvoiceFilterQuery.buildWhere(filters, args);
+
+        // THEN: Entran los estados nulos y los que no son un estado conocido
+        assertEquals(" WHERE (estado IS NULL OR estado NOT IN (?, ?, ?, ?, ?))", where);
+        assertEquals(InvoiceState.values().length - 1, args.size());
+    }
+
+    @Test
+    public void buildWhere_withDateRange_usesEpochDays() {
+        // GIVEN: Rango de fechas cerrado
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 3, 31);
+        InvoiceFilters filters = new InvoiceFilters(null, start, end, null, null);
+
+        // WHEN: Se construye la cláusula
+        List<Object> args = new ArrayList<>();
+        String where = InvoiceFilterQuery.buildWhere(filters, args);
+
+        // THEN: Las fechas se comparan como días desde época (formato de RoomConverters)
+        assertEquals(" WHERE fecha >= ? AND fecha <= ?", where);
+        assertEquals(Arrays.<Object>asList(start.toEpochDay(), end.toEpochDay()), args);
+    }
+}
@@ -0,0 +1,105 @@
+package com.nexosolar.android.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.nexosolar.android.data.local.SyncStateEntity;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests unitarios para CachePolicy.
+ * Valida la decisión de revalidar según la marca de agua de sync_state y el TTL,
+ * con un reloj inyectado.
+ */
+public class CachePolicyTest {
+
+    private static final long TTL = 60_000L;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    @Test
+    public void isStale_withoutWatermark_returnsTrue() {
+        // GIVEN: Un conjunto que nunca se ha sincronizado
+        CachePolicy policy = new CachePolicy(TTL, clock::get);
+
+        // THEN: Hay que revalidar
+        assertTrue("Sin marca de agua debería revalidarse", policy.isStale(null));
+    }
+
+    @Test
+    public void isStale_withinTtl_returnsFalse() {
+        // GIVEN: Una sincronización reciente
+        CachePolicy policy = new CachePolicy(TTL, clock::get);
+        SyncStateEntity state = syncedAt(clock.get());
+
+        // WHEN: Pasa menos tiempo que el TTL
+        clock.addAndGet(TTL - 1);
+
+        // THEN: La caché sigue vigente
+        assertFalse("Dentro del TTL no debería revalidarse", policy.isStale(state));
+    }
+
+    @Test
+    public void isStale_whenTtlElapses_returnsTrue() {
+        // GIVEN: Una sincronización anterior
+        CachePolicy policy = new CachePolicy(TTL, clock::get);
+        SyncStateEntity state = syncedAt(clock.get());
+
+        // WHEN: Pasa exactamente el TTL
+        clock.addAndGet(TTL);
+
+        // THEN: La caché está obsoleta
+        assertTrue("Al cumplirse el TTL debería revalidarse", policy.isStale(state));
+    }
+
+    @Test
+    public void isStale_withZeroTtl_alwaysReturnsTrue() {
+        // GIVEN: Política que revalida en cada lectura
+        CachePolicy policy = new CachePolicy(0, clock::get);
+
+        // THEN: Incluso una sincronización de este mismo instante está obsoleta
+        assertTrue(policy.isStale(syncedAt(clock.get())));
+    }
+
+    @Test
+    public void forInvoices_withMock_usesZeroTtl() {
+        // WHEN: Se crea la política del listado en modo mock (alwaysReload)
+        CachePolicy policy = CachePolicy.forInvoices(true);
+
+        // THEN: Se revalida en cada lectura
+        assertEquals(0L, policy.getTtlMillis());
+        assertTrue(policy.isStale(syncedAt(policy.now())));
+    }
+
+    @Test
+    public void forInvoices_withRealApi_usesDefaultTtl() {
+        // WHEN: Se crea la política del listado contra la API real
+        CachePolicy policy = CachePolicy.forInvoices(false);
+
+        // THEN: Se usa el TTL por defecto y una sincronización reciente sigue vigente
+        assertEquals(CachePolicy.DEFAULT_INVOICE_TTL_MS, policy.getTtlMillis());
+        assertFalse(policy.isStale(syncedAt(policy.now())));
+    }
+
+    @Test
+    public void now_usesInjectedClock() {
+        // GIVEN: Política con reloj inyectado
+        CachePolicy policy = new CachePolicy(TTL, clock::get);
+
+        // WHEN: Avanza el reloj
+        clock.set(42L);
+
+        // THEN: El instante actual sale del reloj inyectado
+        assertEquals(42L, policy.now());
+    }
+
+    // ===== Utilidades =====
+
+    private static SyncStateEntity syncedAt(long millis) {
+        return new SyncStateEntity(SyncStateEntity.RECURSO_FACTURAS, millis, 10, 0);
+    }
+}
@@ -0,0 +1,161 @@
+package com.nexosolar.android.data.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nexosolar.android.core.ErrorClassifier;
+import com.nexosolar.android.core.SingleFlight;
+import com.nexosolar.android.data.InvoiceMapper;
+import com.nexosolar.android.data.local.InvoiceDao;
+import com.nexosolar.android.data.local.SyncStateEntity;
+import com.nexosolar.android.data.source.InvoiceBatchSink;
+import com.nexosolar.android.data.source.InvoiceJsonStreamParser;
+import com.nexosolar.android.data.source.InvoiceRemoteDataSource;
+import com.nexosolar.android.domain.repository.RepositoryCallback;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests unitarios para InvoiceRepositoryImpl.
+ * Valida la política de sincronización del listado con una caché y una red simuladas.
+ */
+public class InvoiceRepositoryImplTest {
+
+    private static final long NOW = 10_000_000L;
+    private static final long TTL = 60_000L;
+
+    private InvoiceDao dao;
+    private InvoiceRemoteDataSource remote;
+    private InvoiceRepositoryImpl repository;
+
+    @Before
+    public void setUp() {
+        dao = mock(InvoiceDao.class);
+        remote = mock(InvoiceRemoteDataSource.class);
+        repository = new InvoiceRepositoryImpl(remote, dao, new CachePolicy(TTL, () -> NOW), new SingleFlight<>());
+    }
+
+    // ===== Revalidación sin carga (modo paginado) =====
+
+    @Test
+    public void revalidate_whenCacheIsFresh_doesNotSync() throws Exception {
+        // GIVEN: Una sincronización dentro del TTL
+        givenLastSync(NOW - TTL / 2);
+
+        // WHEN: Se revalida sin forzar
+        Result result = revalidate(false);
+
+        // THEN: No se descarga nada y la caché no cambia
+        assertEquals(Boolean.FALSE, result.value);
+        verify(remote, never()).streamFacturas(any(), anyInt());
+    }
+
+    @Test
+    public void revalidate_whenCacheIsStale_syncsAndReportsChanges() throws Exception {
+        // GIVEN: Una sincronización más antigua que el TTL y una respuesta con cambios
+        givenLastSync(NOW - TTL);
+        when(dao.swapFromStaging(anyLong())).thenReturn(3);
+
+        // WHEN: Se revalida sin forzar
+        Result result = revalidate(false);
+
+        // THEN: Se sincroniza y se informa del cambio
+        assertEquals(Boolean.TRUE, result.value);
+        verify(remote).streamFacturas(any(), anyInt());
+        verify(dao).swapFromStaging(NOW);
+    }
+
+    @Test
+    public void revalidate_whenForced_syncsEvenIfFresh() throws Exception {
+        // GIVEN: Una caché vigente y una respuesta sin cambios
+        givenLastSync(NOW);
+        when(dao.swapFromStaging(anyLong())).thenReturn(0);
+
+        // WHEN: El usuario fuerza la actualización
+        Result result = revalidate(true);
+
+        // THEN: Se sincroniza aunque la caché estuviera vigente
+        assertEquals(Boolean.FALSE, result.value);
+        verify(remote).streamFacturas(any(), anyInt());
+    }
+
+    // ===== Respuesta mal formada =====
+
+    @Test
+    public void refresh_whenResponseIsMalformed_clearsStagingAndKeepsLiveTable() throws Exception {
+        // GIVEN: Una respuesta que se corta tras entregar dos lotes a la tabla sombra
+        String json = "{\"facturas\":[{\"importeOrdenacion\":1},{\"importeOrdenacion\":2},{\"importeOrd";
+        when(remote.streamFacturas(any(), anyInt())).thenAnswer(invocation ->
+                new InvoiceJsonStreamParser(new InvoiceMapper()).parse(new StringReader(json),
+                        invocation.getArgument(0, InvoiceBatchSink.class), 1));
+
+        // WHEN: Se fuerza la actualización
+        Result result = new Result();
+        repository.refreshInvoices(result);
+        result.await();
+
+        // THEN: Se descarta la tabla sombra sin tocar "facturas" y el error es de servidor
+        verify(dao, times(2)).stageBatch(any());
+        verify(dao, times(2)).clearStaging();
+        verify(dao, never()).swapFromStaging(anyLong());
+        verify(dao, never()).insertAll(any());
+        verify(dao, never()).deleteAll();
+        assertEquals("El JSON mal formado no es un fallo de red",
+                ErrorClassifier.ErrorType.SERVER, ErrorClassifier.classify(result.error.get()));
+    }
+
+    // ===== Utilidades =====
+
+    private void givenLastSync(long millis) {
+        when(dao.getSyncState(SyncStateEntity.RECURSO_FACTURAS))
+                .thenReturn(new SyncStateEntity(SyncStateEntity.RECURSO_FACTURAS, millis, 10, 0));
+    }
+
+    private Result revalidate(boolean force) throws InterruptedException {
+        Result result = new Result();
+        repository.revalidateInvoices(force, result);
+        result.await();
+        assertNull("No debería producirse un error", result.error.get());
+        return result;
+    }
+
+    /**
+     * Callback que permite esperar a la respuesta asíncrona del repositorio.
+     */
+    private static class Result implements RepositoryCallback<Boolean> {
+        private final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        volatile Boolean value;
+
+        @Override
+        public void onSuccess(Boolean data) {
+            value = data;
+            done.countDown();
+        }
+
+        @Override
+        public void onError(Throwable e) {
+            error.set(e);
+            done.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue("El repositorio debería responder", done.await(2, TimeUnit.SECONDS));
+        }
+    }
+}
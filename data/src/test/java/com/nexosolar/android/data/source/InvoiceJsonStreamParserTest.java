@@ -0,0 +1,182 @@
+package com.nexosolar.android.data.source;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.gson.stream.MalformedJsonException;
+import com.nexosolar.android.data.InvoiceMapper;
+import com.nexosolar.android.data.local.InvoiceEntity;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests unitarios para InvoiceJsonStreamParser.
+ * Valida el reparto en lotes, la lectura de campos nulos o ausentes y el tratamiento
+ * del JSON mal formado.
+ */
+public class InvoiceJsonStreamParserTest {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final InvoiceJsonStreamParser parser = new InvoiceJsonStreamParser(new InvoiceMapper());
+
+    // ===== Lotes =====
+
+    @Test
+    public void parse_withExactlyOneBatch_deliversSingleFullBatch() throws IOException {
+        // GIVEN: Tantas facturas como el tamaño de lote
+        RecordingSink sink = new RecordingSink();
+
+        // WHEN: Se lee la respuesta
+        int total = parser.parse(reader(invoices(BATCH_SIZE)), sink, BATCH_SIZE);
+
+        // THEN: Se entrega un único lote completo, sin lote final vacío
+        assertEquals(BATCH_SIZE, total);
+        assertEquals(Arrays.asList(BATCH_SIZE), sink.sizes);
+    }
+
+    @Test
+    public void parse_withOneRowOverBatch_deliversRemainderInLastBatch() throws IOException {
+        // GIVEN: Una factura más que el tamaño de lote
+        RecordingSink sink = new RecordingSink();
+
+        // WHEN: Se lee la respuesta
+        int total = parser.parse(reader(invoices(BATCH_SIZE + 1)), sink, BATCH_SIZE);
+
+        // THEN: Un lote completo y otro con la factura restante
+        assertEquals(BATCH_SIZE + 1, total);
+        assertEquals(Arrays.asList(BATCH_SIZE, 1), sink.sizes);
+        assertEquals("Debería conservarse el orden de la respuesta",
+                (float) BATCH_SIZE, sink.rows.get(BATCH_SIZE).importe, 0.001f);
+    }
+
+    @Test
+    public void parse_withEmptyArray_deliversNothing() throws IOException {
+        // GIVEN: Una respuesta correcta sin facturas
+        RecordingSink sink = new RecordingSink();
+
+        // WHEN: Se lee la respuesta
+        int total = parser.parse(reader("{\"numFacturas\":0,\"facturas\":[]}"), sink, BATCH_SIZE);
+
+        // THEN: No se entrega ningún lote
+        assertEquals(0, total);
+        assertTrue("No debería entregarse ningún lote", sink.sizes.isEmpty());
+    }
+
+    // ===== Campos =====
+
+    @Test
+    public void parse_withNullAndMissingFields_resetsValuesBetweenInvoices() throws IOException {
+        // GIVEN: Una factura completa seguida de otra con nulos y campos ausentes, y un elemento nulo
+        String json = "{\"facturas\":["
+                + "{\"id\":\"A1\",\"descEstado\":\"Pagada\",\"importeOrdenacion\":12.5,\"fecha\":\"05/03/2025\"},"
+                + "null,"
+                + "{\"descEstado\":null,\"fecha\":null,\"extra\":{\"x\":[1,2]}}"
+                + "]}";
+        RecordingSink sink = new RecordingSink();
+
+        // WHEN: Se lee la respuesta
+        int total = parser.parse(reader(json), sink, BATCH_SIZE);
+
+        // THEN: El elemento nulo se omite y la segunda factura no hereda valores de la primera
+        assertEquals(2, total);
+        InvoiceEntity first = sink.rows.get(0);
+        assertEquals("Pagada", first.estado);
+        assertEquals(12.5f, first.importe, 0.001f);
+        assertEquals(LocalDate.of(2025, 3, 5), first.fecha);
+
+        InvoiceEntity second = sink.rows.get(1);
+        assertNull("El estado nulo no debería heredarse", second.estado);
+        assertNull("La fecha nula no debería heredarse", second.fecha);
+        assertEquals("El importe ausente debería ser 0", 0f, second.importe, 0.001f);
+        assertNotEquals("Cada factura debería tener su propia clave", first.id, second.id);
+    }
+
+    @Test
+    public void parse_withoutFacturasField_deliversNothing() throws IOException {
+        // GIVEN: Un objeto raíz sin el array de facturas
+        RecordingSink sink = new RecordingSink();
+
+        // WHEN: Se lee la respuesta
+        int total = parser.parse(reader("{\"numFacturas\":3}"), sink, BATCH_SIZE);
+
+        // THEN: No hay facturas
+        assertEquals(0, total);
+        assertTrue(sink.sizes.isEmpty());
+    }
+
+    // ===== JSON mal formado =====
+
+    @Test
+    public void parse_withTruncatedBody_throwsMalformedJson() throws IOException {
+        // GIVEN: Una respuesta cortada a mitad de una factura
+        assertMalformed("{\"facturas\":[{\"importeOrdenacion\":1.5},{\"importeOrden");
+    }
+
+    @Test
+    public void parse_withWrongTokenType_throwsMalformedJson() throws IOException {
+        // GIVEN: Un importe que no es numérico
+        assertMalformed("{\"facturas\":[{\"importeOrdenacion\":\"mucho\"}]}");
+    }
+
+    @Test
+    public void parse_withNonObjectRoot_throwsMalformedJson() throws IOException {
+        // GIVEN: Una raíz que no es un objeto
+        assertMalformed("[]");
+    }
+
+    // ===== Utilidades =====
+
+    private void assertMalformed(String json) throws IOException {
+        RecordingSink sink = new RecordingSink();
+        try {
+            // WHEN: Se lee la respuesta
+            parser.parse(reader(json), sink, BATCH_SIZE);
+            fail("Debería lanzarse MalformedJsonException");
+        } catch (MalformedJsonException expected) {
+            // THEN: El fallo se señala como respuesta mal formada y no se entrega el lote incompleto
+            assertTrue("No debería entregarse ningún lote", sink.sizes.isEmpty());
+        }
+    }
+
+    private static StringReader reader(String json) {
+        return new StringReader(json);
+    }
+
+    /**
+     * Genera un listado de n facturas sin id con importes 0..n-1.
+     */
+    private static String invoices(int n) {
+        StringBuilder json = new StringBuilder("{\"facturas\":[");
+        for (int i = 0; i < n; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"descEstado\":\"Pagada\",\"importeOrdenacion\":").append(i)
+                    .append(",\"fecha\":\"01/01/2025\"}");
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * Sink que copia cada lote, ya que el parser reutiliza la lista entre entregas.
+     */
+    private static class RecordingSink implements InvoiceBatchSink {
+        final List<Integer> sizes = new ArrayList<>();
+        final List<InvoiceEntity> rows = new ArrayList<>();
+
+        @Override
+        public void accept(List<InvoiceEntity> batch) {
+            sizes.add(batch.size());
+            rows.addAll(batch);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.nexosolar.android.data.source;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.nexosolar.android.data.remote.ApiService;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.StringReader;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.HttpException;
+import retrofit2.Response;
+
+/**
+ * Tests unitarios para InvoiceRemoteDataSourceImpl.
+ * Valida la descarga en streaming y la liberación de la respuesta HTTP.
+ */
+public class InvoiceRemoteDataSourceImplTest {
+
+    private ApiService apiService;
+    private Call<ResponseBody> call;
+    private InvoiceRemoteDataSourceImpl dataSource;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        apiService = mock(ApiService.class);
+        call = mock(Call.class);
+        when(apiService.getFacturasStream()).thenReturn(call);
+        dataSource = new InvoiceRemoteDataSourceImpl(apiService);
+    }
+
+    @Test
+    public void streamFacturas_whenServerFails_closesErrorBody() throws Exception {
+        // GIVEN: Una respuesta HTTP 500 con cuerpo de error
+        ResponseBody errorBody = mock(ResponseBody.class);
+        when(call.execute()).thenReturn(Response.<ResponseBody>error(500, errorBody));
+
+        // WHEN: Se descarga el listado
+        try {
+            dataSource.streamFacturas(batch -> fail("No debería entregarse ningún lote"), 10);
+            fail("Debería lanzarse HttpException");
+        } catch (HttpException expected) {
+            // THEN: El cuerpo de error se cierra para liberar la conexión
+            verify(errorBody).close();
+        }
+    }
+
+    @Test
+    public void streamFacturas_whenSuccessful_parsesAndClosesBody() throws Exception {
+        // GIVEN: Una respuesta correcta con dos facturas
+        ResponseBody body = mock(ResponseBody.class);
+        when(body.charStream()).thenReturn(new StringReader(
+                "{\"facturas\":[{\"importeOrdenacion\":1.5},{\"importeOrdenacion\":2.5}]}"));
+        when(call.execute()).thenReturn(Response.success(body));
+
+        // WHEN: Se descarga el listado
+        int total = dataSource.streamFacturas(batch -> { }, 10);
+
+        // THEN: Se leen todas las facturas y se cierra el cuerpo
+        assertEquals(2, total);
+        verify(body).close();
+    }
+}
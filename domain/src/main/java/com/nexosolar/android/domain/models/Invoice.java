@@ -11,10 +11,15 @@ import java.time.LocalDate;
 public class Invoice implements Serializable {
 
     // ===== Variables de instancia =====
-    private int invoiceID;
+    private long invoiceID;
     private String invoiceStatus;
     private float invoiceAmount;
 
+    /**
+     * Estado resuelto una única vez al asignar invoiceStatus (mapeo desde datos).
+     */
+    private InvoiceState estado = InvoiceState.UNKNONWN;
+
 
 
     private LocalDate invoiceDate;
@@ -28,18 +33,21 @@ public class Invoice implements Serializable {
     }
 
     public Invoice(String descEstado, float amountOrder, LocalDate invoiceDate) {
-        this.invoiceStatus = descEstado;
+        setInvoiceStatus(descEstado);
         this.invoiceAmount = amountOrder;
         this.invoiceDate = invoiceDate;
     }
 
     // ===== Getters y Setters =====
 
-    public int getInvoiceID() {
+    /**
+     * @return Clave estable de la factura entre sincronizaciones, o 0 si no tiene asignada
+     */
+    public long getInvoiceID() {
         return invoiceID;
     }
 
-    public void setInvoiceID(int invoiceID) {
+    public void setInvoiceID(long invoiceID) {
         this.invoiceID = invoiceID;
     }
 
@@ -47,8 +55,13 @@ public class Invoice implements Serializable {
         return invoiceStatus;
     }
 
+    /**
+     * Asigna el estado en texto del servidor y resuelve su {@link InvoiceState}.
+     * La resolución se hace una sola vez aquí; getEstadoEnum() ya no vuelve a buscarlo.
+     */
     public void setInvoiceStatus(String invoiceStatus) {
         this.invoiceStatus = invoiceStatus;
+        this.estado = InvoiceState.fromServerValue(invoiceStatus);
     }
 
     public float getInvoiceAmount() {
@@ -70,12 +83,13 @@ public class Invoice implements Serializable {
     // ===== Métodos públicos =====
 
     /**
-     * Convierte el estado de texto (API) a un Enum de dominio seguro.
+     * Devuelve el estado de texto (API) como Enum de dominio seguro.
      * Facilita la lógica de UI (colores, iconos) evitando comparaciones de strings.
+     * Se resuelve al asignar el estado, no en cada llamada.
      *
      * @return Enum {@link InvoiceState} correspondiente o DESCONOCIDO.
      */
     public InvoiceState getEstadoEnum() {
-        return InvoiceState.fromServerValue(this.invoiceStatus);
+        return estado;
     }
 }
@@ -0,0 +1,136 @@
+package com.nexosolar.android.domain.models;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Agregados analíticos de un subconjunto de facturas: totales mensuales, suma y recuento
+ * por estado y percentiles de importe.
+ *
+ * Se construye con AggregateInvoicesUseCase a partir de las columnas de un {@link InvoiceIndex};
+ * los datos se guardan en arrays primitivos y las vistas (mapas, percentiles) se calculan al
+ * pedirlas. Las facturas sin fecha cuentan en el total y por estado, pero no en los meses.
+ */
+public final class InvoiceAggregates {
+
+    // ===== Variables de instancia =====
+
+    private final int count;
+    private final double totalAmount;
+    private final double[] sumByState;
+    private final int[] countByState;
+    private final YearMonth firstMonth;
+    private final double[] monthlyTotals;
+    private final int[] monthlyCounts;
+    private final float[] sortedAmounts;
+
+    // ===== Constructores =====
+
+    /**
+     * Los arrays pasan a ser propiedad de la instancia y no deben modificarse después.
+     *
+     * @param firstMonth Mes del primer elemento de los arrays mensuales (null si no hay meses)
+     * @param sortedAmounts Importes del subconjunto en orden ascendente
+     */
+    public InvoiceAggregates(int count,
+                             double totalAmount,
+                             double[] sumByState,
+                             int[] countByState,
+                             YearMonth firstMonth,
+                             double[] monthlyTotals,
+                             int[] monthlyCounts,
+                             float[] sortedAmounts) {
+        this.count = count;
+        this.totalAmount = totalAmount;
+        this.sumByState = sumByState;
+        this.countByState = countByState;
+        this.firstMonth = firstMonth;
+        this.monthlyTotals = monthlyTotals;
+        this.monthlyCounts = monthlyCounts;
+        this.sortedAmounts = sortedAmounts;
+    }
+
+    // ===== Getters =====
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public double getSum(InvoiceState state) {
+        return sumByState[state.ordinal()];
+    }
+
+    public int getCount(InvoiceState state) {
+        return countByState[state.ordinal()];
+    }
+
+    /**
+     * @return Total gastado en el mes, o 0 si no hay facturas en él
+     */
+    public double getMonthlyTotal(YearMonth month) {
+        int slot = monthSlot(month);
+        return slot >= 0 ? monthlyTotals[slot] : 0.0;
+    }
+
+    /**
+     * @return Número de facturas del mes
+     */
+    public int getMonthlyCount(YearMonth month) {
+        int slot = monthSlot(month);
+        return slot >= 0 ? monthlyCounts[slot] : 0;
+    }
+
+    /**
+     * Totales mensuales en orden cronológico, solo de los meses con alguna factura.
+     *
+     * @return Mapa nuevo mes → total
+     */
+    public Map<YearMonth, Double> getMonthlyTotals() {
+        Map<YearMonth, Double> result = new LinkedHashMap<>();
+        for (int i = 0; i < monthlyTotals.length; i++) {
+            if (monthlyCounts[i] > 0) {
+                result.put(firstMonth.plusMonths(i), monthlyTotals[i]);
+            }
+        }
+        return result;
+    }
+
+    // ===== Métodos públicos =====
+
+    /**
+     * Percentil de importe por el método del rango más cercano.
+     *
+     * @param percentile Valor entre 0 y 100 (0 = mínimo, 100 = máximo)
+     * @return Importe del percentil, o 0 si el subconjunto está vacío
+     */
+    public float percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("El percentil debe estar entre 0 y 100: " + percentile);
+        }
+        if (sortedAmounts.length == 0) {
+            return 0f;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sortedAmounts.length);
+        return sortedAmounts[Math.max(0, rank - 1)];
+    }
+
+    public float median() {
+        return percentile(50);
+    }
+
+    // ===== Métodos privados =====
+
+    private int monthSlot(YearMonth month) {
+        if (firstMonth == null || month == null) {
+            return -1;
+        }
+        long slot = firstMonth.until(month, ChronoUnit.MONTHS);
+        return slot >= 0 && slot < monthlyTotals.length ? (int) slot : -1;
+    }
+}
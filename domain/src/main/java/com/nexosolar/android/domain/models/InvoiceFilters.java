@@ -2,34 +2,87 @@ package com.nexosolar.android.domain.models;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Clase de datos que encapsula todos los criterios de filtrado de facturas.
  * Sigue el patrón MVVM manteniendo la lógica de validación separada de la UI.
  * Centraliza el estado de los filtros para facilitar la comunicación entre ViewModel y UI
+ *
+ * Es inmutable y con igualdad estructural: dos filtros con los mismos criterios son iguales
+ * y tienen el mismo hash (calculado una sola vez), de modo que pueden usarse como clave de
+ * caché. Cada modificación se expresa con un método with* que devuelve una instancia nueva.
+ *
+ * Los estados se guardan como {@link EnumSet} (una máscara de bits por ordinal). La lista de
+ * textos de servidor de getFilteredStates/withFilteredStates se mantiene solo como adaptador
+ * de compatibilidad para la UI (FilterFragment).
  */
-public class InvoiceFilters {
+public final class InvoiceFilters {
 
     // ===== Variables de instancia =====
-    private List<String> filteredStates;
-    private LocalDate startDate;
-    private LocalDate endDate;
-    private Double minAmount;
-    private Double maxAmount;
+    private final EnumSet<InvoiceState> states;
+    private final Set<InvoiceState> statesView;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final Double minAmount;
+    private final Double maxAmount;
+    private final int hash;
 
     // ===== Constructores =====
     public InvoiceFilters() {
-        this.filteredStates = new ArrayList<>();
-        this.startDate = null;
-        this.endDate = LocalDate.now();
-        this.minAmount = 0.0;
-        this.maxAmount = 0.0;
+        this(EnumSet.noneOf(InvoiceState.class), null, LocalDate.now(), 0.0, 0.0);
     }
 
-    // Getters y Setters
+    /**
+     * @param states Estados permitidos (null = sin filtro de estado; vacío = ninguna factura).
+     *               Se copia, por lo que modificarlo después no altera los filtros.
+     * @param startDate Fecha mínima (inclusive), o null
+     * @param endDate Fecha máxima (inclusive), o null
+     * @param minAmount Importe mínimo (inclusive), o null
+     * @param maxAmount Importe máximo (inclusive), o null
+     */
+    public InvoiceFilters(Set<InvoiceState> states,
+                          LocalDate startDate,
+                          LocalDate endDate,
+                          Double minAmount,
+                          Double maxAmount) {
+        this.states = copyStates(states);
+        this.statesView = this.states != null ? Collections.unmodifiableSet(this.states) : null;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+        this.hash = Objects.hash(this.states, startDate, endDate, minAmount, maxAmount);
+    }
+
+    // Getters
+
+    /**
+     * @return Estados permitidos (solo lectura), o null si no hay filtro de estado (vacío = ninguna factura)
+     */
+    public Set<InvoiceState> getStates() {
+        return statesView;
+    }
+
+    /**
+     * Adaptador de compatibilidad: estados seleccionados como textos de servidor.
+     * Devuelve una lista nueva en cada llamada; modificarla no altera los filtros.
+     *
+     * @return Valores de servidor de los estados, o null si no hay filtro de estado
+     */
     public List<String> getFilteredStates() {
-        return filteredStates;
+        if (states == null) {
+            return null;
+        }
+        List<String> estados = new ArrayList<>(states.size());
+        for (InvoiceState state : states) {
+            estados.add(state.getServerValue());
+        }
+        return estados;
     }
 
     public LocalDate getStartDate() {
@@ -48,26 +101,82 @@ public class InvoiceFilters {
         return maxAmount;
     }
 
-    // Setters
-    public void setFilteredStates(List<String> estados) {
-        this.filteredStates = estados;
+    // Copias modificadas
+
+    public InvoiceFilters withStates(Set<InvoiceState> estados) {
+        return new InvoiceFilters(estados, startDate, endDate, minAmount, maxAmount);
     }
 
-    public void setStartDate(LocalDate fecha) {
-        this.startDate = fecha;
+    /**
+     * Adaptador de compatibilidad: copia con los estados dados como textos de servidor.
+     * Cada texto se resuelve con {@link InvoiceState#fromServerValue(String)}.
+     *
+     * @param estados Valores de servidor, o null para no filtrar por estado
+     */
+    public InvoiceFilters withFilteredStates(List<String> estados) {
+        if (estados == null) {
+            return withStates(null);
+        }
+        EnumSet<InvoiceState> resolved = EnumSet.noneOf(InvoiceState.class);
+        for (String estado : estados) {
+            resolved.add(InvoiceState.fromServerValue(estado));
+        }
+        return withStates(resolved);
     }
 
-    public void setEndDate(LocalDate fecha) {
-        this.endDate = fecha;
+    public InvoiceFilters withStartDate(LocalDate fecha) {
+        return new InvoiceFilters(states, fecha, endDate, minAmount, maxAmount);
     }
 
-    public void setMinAmount(Double importe) {
-        this.minAmount = importe;
+    public InvoiceFilters withEndDate(LocalDate fecha) {
+        return new InvoiceFilters(states, startDate, fecha, minAmount, maxAmount);
     }
 
-    public void setMaxAmount(Double importe) {
-        this.maxAmount = importe;
+    public InvoiceFilters withDateRange(LocalDate inicio, LocalDate fin) {
+        return new InvoiceFilters(states, inicio, fin, minAmount, maxAmount);
     }
 
+    public InvoiceFilters withAmountRange(Double minimo, Double maximo) {
+        return new InvoiceFilters(states, startDate, endDate, minimo, maximo);
+    }
 
+    // ===== Métodos públicos =====
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InvoiceFilters)) return false;
+        InvoiceFilters other = (InvoiceFilters) o;
+        return hash == other.hash
+                && Objects.equals(states, other.states)
+                && Objects.equals(startDate, other.startDate)
+                && Objects.equals(endDate, other.endDate)
+                && Objects.equals(minAmount, other.minAmount)
+                && Objects.equals(maxAmount, other.maxAmount);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "InvoiceFilters{states=" + states
+                + ", startDate=" + startDate
+                + ", endDate=" + endDate
+                + ", minAmount=" + minAmount
+                + ", maxAmount=" + maxAmount + '}';
+    }
+
+    // ===== Métodos privados =====
+
+    private static EnumSet<InvoiceState> copyStates(Set<InvoiceState> states) {
+        if (states == null) {
+            return null;
+        }
+        EnumSet<InvoiceState> copy = EnumSet.noneOf(InvoiceState.class);
+        copy.addAll(states);
+        return copy;
+    }
 }
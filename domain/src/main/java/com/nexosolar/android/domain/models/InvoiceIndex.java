@@ -0,0 +1,305 @@
+package com.nexosolar.android.domain.models;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Índice columnar en memoria sobre un listado de facturas.
+ *
+ * Se construye una sola vez por carga de datos y almacena cada atributo filtrable
+ * en un array primitivo (importe, fecha como epoch day y ordinal de {@link InvoiceState}).
+ * Los filtros recorren estos arrays en bucles compactos y devuelven un {@link BitSet}
+ * con las posiciones seleccionadas, sin crear listas intermedias de {@link Invoice}.
+ *
+ * Además mantiene dos índices secundarios ordenados (por fecha y por importe) que
+ * permiten resolver rangos contiguos mediante búsqueda binaria en lugar de recorrer
+ * todas las posiciones.
+ *
+ * En la misma pasada calcula las {@link InvoiceStatistics} del listado (total, recuento por
+ * estado, límites de importe y de fecha), de modo que no hace falta recorrerlo de nuevo.
+ *
+ * Es inmutable: si cambian las facturas originales se debe construir un índice nuevo.
+ */
+public final class InvoiceIndex {
+
+    // ===== Constantes =====
+
+    /**
+     * Valor centinela para facturas sin fecha.
+     */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final InvoiceIndex EMPTY = new InvoiceIndex(Collections.emptyList());
+
+    // ===== Variables de instancia =====
+
+    private final List<Invoice> invoices;
+    private final float[] amounts;
+    private final int[] epochDays;
+    private final byte[] states;
+    private final InvoiceStatistics statistics;
+
+    // Índices secundarios: posiciones ordenadas por clave y claves ordenadas en paralelo
+    private final int[] dateOrder;
+    private final int[] sortedDays;
+    private final int[] amountOrder;
+    private final float[] sortedAmounts;
+
+    // ===== Constructores =====
+
+    private InvoiceIndex(List<Invoice> invoices) {
+        int size = invoices.size();
+        this.invoices = invoices;
+        this.amounts = new float[size];
+        this.epochDays = new int[size];
+        this.states = new byte[size];
+
+        InvoiceStatistics.Accumulator accumulator = new InvoiceStatistics.Accumulator();
+        for (int i = 0; i < size; i++) {
+            Invoice invoice = invoices.get(i);
+            LocalDate date = invoice.getInvoiceDate();
+
+            amounts[i] = invoice.getInvoiceAmount();
+            epochDays[i] = date != null ? (int) date.toEpochDay() : NO_DATE;
+            states[i] = (byte) invoice.getEstadoEnum().ordinal();
+            accumulator.add(amounts[i], epochDays[i], states[i]);
+        }
+        this.statistics = accumulator.build();
+
+        this.dateOrder = new int[size];
+        this.sortedDays = new int[size];
+        this.amountOrder = new int[size];
+        this.sortedAmounts = new float[size];
+        buildSortedIndexes();
+    }
+
+    // ===== Métodos de construcción =====
+
+    /**
+     * Construye el índice a partir del listado completo de facturas.
+     * Se guarda una copia de la lista para que el índice no dependa de mutaciones externas.
+     *
+     * @param invoices Facturas originales (null se trata como lista vacía)
+     * @return Índice columnar listo para filtrar
+     */
+    public static InvoiceIndex build(List<Invoice> invoices) {
+        if (invoices == null || invoices.isEmpty()) {
+            return EMPTY;
+        }
+        return new InvoiceIndex(Collections.unmodifiableList(new ArrayList<>(invoices)));
+    }
+
+    /**
+     * Índice vacío compartido.
+     */
+    public static InvoiceIndex empty() {
+        return EMPTY;
+    }
+
+    // ===== Getters =====
+
+    public int size() {
+        return invoices.size();
+    }
+
+    public boolean isEmpty() {
+        return invoices.isEmpty();
+    }
+
+    /**
+     * @return Facturas indexadas, en el mismo orden que las columnas (no modificable)
+     */
+    public List<Invoice> getInvoices() {
+        return invoices;
+    }
+
+    /**
+     * @return Estadísticas del listado, calculadas al construir el índice
+     */
+    public InvoiceStatistics getStatistics() {
+        return statistics;
+    }
+
+    public Invoice getInvoice(int position) {
+        return invoices.get(position);
+    }
+
+    public float getAmount(int position) {
+        return amounts[position];
+    }
+
+    /**
+     * @return Fecha de la factura como epoch day, o {@link #NO_DATE} si no tiene fecha
+     */
+    public int getEpochDay(int position) {
+        return epochDays[position];
+    }
+
+    /**
+     * @return Ordinal de {@link InvoiceState} de la factura
+     */
+    public byte getStateOrdinal(int position) {
+        return states[position];
+    }
+
+    // ===== Índices ordenados =====
+
+    /**
+     * Primera posición ordenada cuya fecha es mayor o igual que {@code epochDay}.
+     * Las facturas sin fecha ({@link #NO_DATE}) quedan siempre al principio del orden.
+     */
+    public int lowerBoundByDate(int epochDay) {
+        int low = 0;
+        int high = sortedDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedDays[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Primera posición ordenada cuya fecha es estrictamente mayor que {@code epochDay}.
+     */
+    public int upperBoundByDate(int epochDay) {
+        int low = 0;
+        int high = sortedDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedDays[mid] <= epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Primera posición ordenada cuyo importe es mayor o igual que {@code amount}.
+     */
+    public int lowerBoundByAmount(double amount) {
+        int low = 0;
+        int high = sortedAmounts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedAmounts[mid] < amount) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Primera posición ordenada cuyo importe es estrictamente mayor que {@code amount}.
+     */
+    public int upperBoundByAmount(double amount) {
+        int low = 0;
+        int high = sortedAmounts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedAmounts[mid] <= amount) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param rank Posición dentro del orden por fecha
+     * @return Posición original de la factura en el índice
+     */
+    public int positionByDateRank(int rank) {
+        return dateOrder[rank];
+    }
+
+    /**
+     * @param rank Posición dentro del orden por importe
+     * @return Posición original de la factura en el índice
+     */
+    public int positionByAmountRank(int rank) {
+        return amountOrder[rank];
+    }
+
+    // ===== Métodos públicos =====
+
+    /**
+     * Conjunto con todas las posiciones del índice seleccionadas.
+     */
+    public BitSet all() {
+        BitSet bits = new BitSet(size());
+        bits.set(0, size());
+        return bits;
+    }
+
+    /**
+     * Materializa las facturas seleccionadas en el orden original del listado.
+     *
+     * @param selection Posiciones seleccionadas
+     * @return Nueva lista con las facturas correspondientes
+     */
+    public List<Invoice> materialize(BitSet selection) {
+        if (selection == null || selection.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Invoice> result = new ArrayList<>(selection.cardinality());
+        for (int i = selection.nextSetBit(0); i >= 0; i = selection.nextSetBit(i + 1)) {
+            result.add(invoices.get(i));
+        }
+        return result;
+    }
+
+    // ===== Métodos privados =====
+
+    /**
+     * Ordena las posiciones por fecha y por importe.
+     * Cada par (clave, posición) se empaqueta en un long para ordenar arrays primitivos
+     * sin comparadores ni objetos intermedios; la posición en los 32 bits bajos hace
+     * además que el orden sea estable.
+     */
+    private void buildSortedIndexes() {
+        int size = epochDays.length;
+        long[] keys = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) epochDays[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < size; i++) {
+            int position = (int) keys[i];
+            dateOrder[i] = position;
+            sortedDays[i] = epochDays[position];
+        }
+
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) sortableBits(amounts[i]) << 32) | i;
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < size; i++) {
+            int position = (int) keys[i];
+            amountOrder[i] = position;
+            sortedAmounts[i] = amounts[position];
+        }
+    }
+
+    /**
+     * Transforma un float en un int cuyo orden con signo coincide con el orden numérico.
+     */
+    private static int sortableBits(float value) {
+        int bits = Float.floatToIntBits(value);
+        return bits ^ ((bits >> 31) & 0x7fffffff);
+    }
+}
@@ -1,5 +1,9 @@
 package com.nexosolar.android.domain.models;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
 /**
  * Enum que define los posibles estados de una factura en el sistema.
  * Actúa como adaptador entre los textos del servidor y la lógica de negocio/UI.
@@ -13,6 +17,37 @@ public enum InvoiceState {
     PAYMENT_PLAN("Plan de pago"),
     UNKNONWN("");
 
+    // ===== Constantes =====
+
+    /**
+     * Número de estados (tamaño de las máscaras indexadas por ordinal).
+     */
+    public static final int COUNT;
+
+    /**
+     * Copia única de values(): cada llamada a values() reserva un array nuevo.
+     */
+    private static final InvoiceState[] VALUES = values();
+
+    /**
+     * Tabla de búsqueda por valor exacto de servidor (caso habitual, sin reservas de memoria).
+     */
+    private static final Map<String, InvoiceState> BY_SERVER_VALUE = new HashMap<>();
+
+    /**
+     * Tabla de búsqueda por valor normalizado a minúsculas (respaldo case-insensitive).
+     */
+    private static final Map<String, InvoiceState> BY_FOLDED_VALUE = new HashMap<>();
+
+    static {
+        COUNT = VALUES.length;
+        for (InvoiceState state : VALUES) {
+            if (state == UNKNONWN) continue;
+            BY_SERVER_VALUE.put(state.serverValue, state);
+            BY_FOLDED_VALUE.put(fold(state.serverValue), state);
+        }
+    }
+
     // ===== Variables de instancia =====
     private final String serverValue;
 
@@ -33,15 +68,32 @@ public enum InvoiceState {
     /**
      * Mapea un string arbitrario del servidor al enum correspondiente.
      * Case-insensitive para mayor robustez ante cambios menores en API.
+     *
+     * Búsqueda O(1): primero por valor exacto (sin reservar memoria) y, si no coincide,
+     * por el valor normalizado a minúsculas.
      */
     public static InvoiceState fromServerValue(String value) {
         if (value == null) return UNKNONWN;
 
-        for (InvoiceState state : values()) {
-            if (state.serverValue.equalsIgnoreCase(value)) {
-                return state;
-            }
+        InvoiceState state = BY_SERVER_VALUE.get(value);
+        if (state == null) {
+            state = BY_FOLDED_VALUE.get(fold(value));
         }
-        return UNKNONWN;
+        return state != null ? state : UNKNONWN;
+    }
+
+    /**
+     * Obtiene el estado a partir de su ordinal sin copiar values().
+     *
+     * @param ordinal Ordinal válido de {@link InvoiceState}
+     */
+    public static InvoiceState fromOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    // ===== Métodos privados =====
+
+    private static String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
     }
 }
@@ -0,0 +1,133 @@
+package com.nexosolar.android.domain.models;
+
+import java.time.LocalDate;
+
+/**
+ * Instantánea inmutable de los agregados de un listado de facturas.
+ *
+ * Reúne en un único objeto lo que antes se calculaba con un recorrido completo por dato
+ * (importe máximo, fecha más antigua y más reciente) y añade el total, el número de facturas
+ * por estado y el importe mínimo. Se calcula en la misma pasada que construye
+ * {@link InvoiceIndex}, por lo que consultarla cuesta O(1).
+ */
+public final class InvoiceStatistics {
+
+    // ===== Constantes =====
+
+    /**
+     * Estadísticas de un listado vacío.
+     */
+    public static final InvoiceStatistics EMPTY = new Accumulator().build();
+
+    // ===== Variables de instancia =====
+
+    private final int count;
+    private final double totalAmount;
+    private final int[] countByState;
+    private final float minAmount;
+    private final float maxAmount;
+    private final LocalDate oldestDate;
+    private final LocalDate newestDate;
+
+    // ===== Constructores =====
+
+    private InvoiceStatistics(Accumulator accumulator) {
+        this.count = accumulator.count;
+        this.totalAmount = accumulator.totalAmount;
+        this.countByState = accumulator.countByState.clone();
+        this.minAmount = accumulator.count > 0 ? accumulator.minAmount : 0f;
+        this.maxAmount = accumulator.count > 0 ? accumulator.maxAmount : 0f;
+        this.oldestDate = accumulator.hasDate ? LocalDate.ofEpochDay(accumulator.oldestDay) : null;
+        this.newestDate = accumulator.hasDate ? LocalDate.ofEpochDay(accumulator.newestDay) : null;
+    }
+
+    // ===== Getters =====
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return Suma de los importes (acumulada en double para no perder precisión)
+     */
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public int getCount(InvoiceState state) {
+        return countByState[state.ordinal()];
+    }
+
+    /**
+     * @return Importe mínimo, o 0 si no hay facturas
+     */
+    public float getMinAmount() {
+        return minAmount;
+    }
+
+    /**
+     * @return Importe máximo, o 0 si no hay facturas
+     */
+    public float getMaxAmount() {
+        return maxAmount;
+    }
+
+    /**
+     * @return Fecha más antigua, o null si ninguna factura tiene fecha
+     */
+    public LocalDate getOldestDate() {
+        return oldestDate;
+    }
+
+    /**
+     * @return Fecha más reciente, o null si ninguna factura tiene fecha
+     */
+    public LocalDate getNewestDate() {
+        return newestDate;
+    }
+
+    // ===== Clases internas =====
+
+    /**
+     * Acumulador de una sola pasada sobre valores primitivos.
+     * Lo usa {@link InvoiceIndex} dentro del bucle que rellena sus columnas.
+     */
+    static final class Accumulator {
+
+        private int count;
+        private double totalAmount;
+        private final int[] countByState = new int[InvoiceState.COUNT];
+        private float minAmount = Float.POSITIVE_INFINITY;
+        private float maxAmount = Float.NEGATIVE_INFINITY;
+        private boolean hasDate;
+        private long oldestDay = Long.MAX_VALUE;
+        private long newestDay = Long.MIN_VALUE;
+
+        /**
+         * @param amount Importe de la factura
+         * @param epochDay Fecha como epoch day, o {@link InvoiceIndex#NO_DATE} si no tiene
+         * @param stateOrdinal Ordinal de {@link InvoiceState}
+         */
+        void add(float amount, long epochDay, int stateOrdinal) {
+            count++;
+            totalAmount += amount;
+            countByState[stateOrdinal]++;
+            if (amount < minAmount) minAmount = amount;
+            if (amount > maxAmount) maxAmount = amount;
+
+            if (epochDay != InvoiceIndex.NO_DATE) {
+                hasDate = true;
+                if (epochDay < oldestDay) oldestDay = epochDay;
+                if (epochDay > newestDay) newestDay = epochDay;
+            }
+        }
+
+        InvoiceStatistics build() {
+            return new InvoiceStatistics(this);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.nexosolar.android.domain.models;
+
+import java.time.LocalDate;
+
+/**
+ * Resumen del listado de facturas almacenado, calculado en la fuente de datos.
+ *
+ * Permite conocer el tamaño del conjunto y los límites de los filtros (importe máximo,
+ * fecha más antigua y más reciente) sin cargar las facturas en memoria. Lo usa el listado
+ * paginado; con el listado en memoria los mismos datos salen de {@link InvoiceStatistics}.
+ */
+public final class InvoiceSummary {
+
+    // ===== Constantes =====
+
+    /**
+     * Resumen de un listado vacío.
+     */
+    public static final InvoiceSummary EMPTY = new InvoiceSummary(0, 0f, null, null);
+
+    // ===== Variables de instancia =====
+
+    private final int count;
+    private final float maxAmount;
+    private final LocalDate oldestDate;
+    private final LocalDate newestDate;
+
+    // ===== Constructores =====
+
+    /**
+     * @param count Número de facturas
+     * @param maxAmount Importe máximo (0 si no hay facturas)
+     * @param oldestDate Fecha más antigua, o null si ninguna factura tiene fecha
+     * @param newestDate Fecha más reciente, o null si ninguna factura tiene fecha
+     */
+    public InvoiceSummary(int count, float maxAmount, LocalDate oldestDate, LocalDate newestDate) {
+        this.count = count;
+        this.maxAmount = maxAmount;
+        this.oldestDate = oldestDate;
+        this.newestDate = newestDate;
+    }
+
+    // ===== Getters =====
+
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public float getMaxAmount() {
+        return maxAmount;
+    }
+
+    public LocalDate getOldestDate() {
+        return oldestDate;
+    }
+
+    public LocalDate getNewestDate() {
+        return newestDate;
+    }
+}
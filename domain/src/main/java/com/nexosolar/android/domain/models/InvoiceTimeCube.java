@@ -0,0 +1,320 @@
+package com.nexosolar.android.domain.models;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Cubo de sumas prefijas de importes y recuentos por día y {@link InvoiceState}.
+ *
+ * Se construye una vez por carga a partir de un {@link InvoiceIndex}. La fila d guarda, para
+ * cada estado, la suma y el número de facturas con fecha anterior al día d del rango, de modo
+ * que el total de cualquier ventana de fechas es la resta de dos filas: O(1) por estado,
+ * independientemente del tamaño del histórico.
+ *
+ * Sigue la semántica de FilterInvoicesUseCase: estados null = todos, vacío = ninguno; con
+ * algún límite de fecha activo las facturas sin fecha quedan fuera; límites inclusivos.
+ * No resuelve rangos de importe: {@link #supports(InvoiceFilters)} indica si los filtros
+ * pueden responderse con el cubo.
+ *
+ * La parte densa abarca como mucho {@link #MAX_DENSE_DAYS} días centrados en la mediana de
+ * las fechas, de modo que una fecha errónea (01/01/0025) no dispara la memoria del cubo.
+ * Las facturas fuera de esa ventana van a un cajón de desbordamiento ordenado por fecha que
+ * se recorre por búsqueda binaria: las respuestas siguen siendo exactas.
+ */
+public final class InvoiceTimeCube {
+
+    // ===== Constantes =====
+
+    /**
+     * Días máximos de la parte densa (unos diez años): acota las filas del cubo a
+     * MAX_DENSE_DAYS × InvoiceState.COUNT celdas sea cual sea el rango de fechas.
+     */
+    static final int MAX_DENSE_DAYS = 3660;
+
+    private static final InvoiceTimeCube EMPTY = new InvoiceTimeCube(InvoiceIndex.empty());
+
+    // ===== Variables de instancia =====
+
+    private final int firstDay;
+    private final int days;
+    // (days + 1) filas de InvoiceState.COUNT columnas: [día][estado]
+    private final double[] prefixSums;
+    private final int[] prefixCounts;
+    // Facturas sin fecha, por estado
+    private final double[] undatedSums;
+    private final int[] undatedCounts;
+    // Cajón de desbordamiento: facturas fuera de la parte densa, ordenadas por fecha
+    private final int[] overflowDays;
+    private final byte[] overflowStates;
+    private final float[] overflowAmounts;
+    private final int invoiceCount;
+    private final float minAmount;
+    private final float maxAmount;
+
+    // ===== Constructores =====
+
+    private InvoiceTimeCube(InvoiceIndex index) {
+        int states = InvoiceState.COUNT;
+        InvoiceStatistics statistics = index.getStatistics();
+        int size = index.size();
+        // Las facturas sin fecha quedan al principio del orden por fecha
+        int firstDated = index.lowerBoundByDate(InvoiceIndex.NO_DATE + 1);
+        int dated = size - firstDated;
+
+        // 1. Ventana densa: como mucho MAX_DENSE_DAYS días alrededor de la mediana
+        if (dated > 0) {
+            long oldest = dayAtRank(index, firstDated);
+            long newest = dayAtRank(index, size - 1);
+            long median = dayAtRank(index, firstDated + dated / 2);
+            long half = MAX_DENSE_DAYS / 2;
+            this.firstDay = (int) Math.max(oldest, median - half);
+            this.days = (int) (Math.min(newest, median + half) - firstDay + 1);
+        } else {
+            this.firstDay = 0;
+            this.days = 0;
+        }
+        this.prefixSums = new double[(days + 1) * states];
+        this.prefixCounts = new int[(days + 1) * states];
+        this.undatedSums = new double[states];
+        this.undatedCounts = new int[states];
+        this.invoiceCount = statistics.getCount();
+        this.minAmount = statistics.getMinAmount();
+        this.maxAmount = statistics.getMaxAmount();
+
+        // 2. Desbordamiento: los rangos por debajo y por encima de la ventana, ya ordenados
+        int denseFrom = days > 0 ? index.lowerBoundByDate(firstDay) : size;
+        int denseTo = days > 0 ? index.upperBoundByDate(firstDay + days - 1) : size;
+        int overflow = (denseFrom - firstDated) + (size - denseTo);
+        this.overflowDays = new int[overflow];
+        this.overflowStates = new byte[overflow];
+        this.overflowAmounts = new float[overflow];
+        int next = copyOverflow(index, firstDated, denseFrom, 0);
+        copyOverflow(index, denseTo, size, next);
+
+        // 3. Totales de cada día de la ventana en la fila siguiente
+        for (int rank = denseFrom; rank < denseTo; rank++) {
+            int i = index.positionByDateRank(rank);
+            int cell = (index.getEpochDay(i) - firstDay + 1) * states + index.getStateOrdinal(i);
+            prefixSums[cell] += index.getAmount(i);
+            prefixCounts[cell]++;
+        }
+        for (int rank = 0; rank < firstDated; rank++) {
+            int i = index.positionByDateRank(rank);
+            undatedSums[index.getStateOrdinal(i)] += index.getAmount(i);
+            undatedCounts[index.getStateOrdinal(i)]++;
+        }
+
+        // 4. Acumulación: cada fila pasa a ser la suma de todas las anteriores
+        for (int cell = states; cell < prefixSums.length; cell++) {
+            prefixSums[cell] += prefixSums[cell - states];
+            prefixCounts[cell] += prefixCounts[cell - states];
+        }
+    }
+
+    // ===== Métodos de construcción =====
+
+    /**
+     * Construye el cubo sobre un índice. Coste O(n + días × estados), con los días
+     * acotados por {@link #MAX_DENSE_DAYS}.
+     *
+     * @param index Índice de las facturas (null se trata como vacío)
+     */
+    public static InvoiceTimeCube build(InvoiceIndex index) {
+        if (index == null || index.isEmpty()) {
+            return EMPTY;
+        }
+        return new InvoiceTimeCube(index);
+    }
+
+    public static InvoiceTimeCube empty() {
+        return EMPTY;
+    }
+
+    // ===== Métodos públicos =====
+
+    /**
+     * Suma de importes de las facturas en la ventana de fechas con alguno de los estados.
+     *
+     * @param from Fecha mínima (inclusive), o null
+     * @param to Fecha máxima (inclusive), o null
+     * @param states Estados permitidos (null = todos)
+     */
+    public double sum(LocalDate from, LocalDate to, Set<InvoiceState> states) {
+        boolean undated = from == null && to == null;
+        int low = lowRow(from);
+        int high = highRow(to);
+
+        double total = 0;
+        for (int state = 0; state < InvoiceState.COUNT; state++) {
+            if (!allowed(states, state)) continue;
+            if (low < high) {
+                total += prefixSums[high * InvoiceState.COUNT + state] - prefixSums[low * InvoiceState.COUNT + state];
+            }
+            if (undated) {
+                total += undatedSums[state];
+            }
+        }
+
+        int end = overflowEnd(to);
+        for (int k = overflowStart(from); k < end; k++) {
+            if (allowed(states, overflowStates[k])) {
+                total += overflowAmounts[k];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Número de facturas en la ventana de fechas con alguno de los estados.
+     * Mismos parámetros que {@link #sum(LocalDate, LocalDate, Set)}.
+     */
+    public int count(LocalDate from, LocalDate to, Set<InvoiceState> states) {
+        boolean undated = from == null && to == null;
+        int low = lowRow(from);
+        int high = highRow(to);
+
+        int total = 0;
+        for (int state = 0; state < InvoiceState.COUNT; state++) {
+            if (!allowed(states, state)) continue;
+            if (low < high) {
+                total += prefixCounts[high * InvoiceState.COUNT + state] - prefixCounts[low * InvoiceState.COUNT + state];
+            }
+            if (undated) {
+                total += undatedCounts[state];
+            }
+        }
+
+        int end = overflowEnd(to);
+        for (int k = overflowStart(from); k < end; k++) {
+            if (allowed(states, overflowStates[k])) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Indica si los filtros se pueden responder con el cubo: su rango de importe (si lo hay)
+     * debe abarcar todos los importes del listado, como ocurre con los filtros por defecto.
+     */
+    public boolean supports(InvoiceFilters filters) {
+        if (filters == null || invoiceCount == 0) {
+            return true;
+        }
+        Double min = filters.getMinAmount();
+        Double max = filters.getMaxAmount();
+        return (min == null || min <= minAmount) && (max == null || max >= maxAmount);
+    }
+
+    /**
+     * Suma de importes de las facturas que cumplen los filtros.
+     * Solo válido si {@link #supports(InvoiceFilters)} es true.
+     */
+    public double sum(InvoiceFilters filters) {
+        if (filters == null) {
+            return sum(null, null, null);
+        }
+        return sum(filters.getStartDate(), filters.getEndDate(), filters.getStates());
+    }
+
+    /**
+     * Número de facturas que cumplen los filtros.
+     * Solo válido si {@link #supports(InvoiceFilters)} es true.
+     */
+    public int count(InvoiceFilters filters) {
+        if (filters == null) {
+            return count(null, null, null);
+        }
+        return count(filters.getStartDate(), filters.getEndDate(), filters.getStates());
+    }
+
+    // ===== Métodos privados =====
+
+    /**
+     * Fila de la suma prefija anterior al límite inferior (recortada al rango del cubo).
+     */
+    private int lowRow(LocalDate from) {
+        if (from == null) {
+            return 0;
+        }
+        long offset = from.toEpochDay() - firstDay;
+        return (int) Math.max(0, Math.min(days, offset));
+    }
+
+    /**
+     * Fila de la suma prefija que incluye el límite superior (recortada al rango del cubo).
+     */
+    private int highRow(LocalDate to) {
+        if (to == null) {
+            return days;
+        }
+        long offset = to.toEpochDay() - firstDay + 1;
+        return (int) Math.max(0, Math.min(days, offset));
+    }
+
+    /**
+     * Copia al desbordamiento las facturas de las posiciones [fromRank, toRank) del orden por fecha.
+     *
+     * @return Siguiente posición libre del desbordamiento
+     */
+    private int copyOverflow(InvoiceIndex index, int fromRank, int toRank, int next) {
+        for (int rank = fromRank; rank < toRank; rank++) {
+            int i = index.positionByDateRank(rank);
+            overflowDays[next] = index.getEpochDay(i);
+            overflowStates[next] = (byte) index.getStateOrdinal(i);
+            overflowAmounts[next] = index.getAmount(i);
+            next++;
+        }
+        return next;
+    }
+
+    /**
+     * Primera posición del desbordamiento con fecha mayor o igual que el límite inferior.
+     */
+    private int overflowStart(LocalDate from) {
+        if (from == null) {
+            return 0;
+        }
+        long day = from.toEpochDay();
+        int low = 0;
+        int high = overflowDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (overflowDays[mid] < day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Primera posición del desbordamiento con fecha estrictamente mayor que el límite superior.
+     */
+    private int overflowEnd(LocalDate to) {
+        if (to == null) {
+            return overflowDays.length;
+        }
+        long day = to.toEpochDay();
+        int low = 0;
+        int high = overflowDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (overflowDays[mid] <= day) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long dayAtRank(InvoiceIndex index, int rank) {
+        return index.getEpochDay(index.positionByDateRank(rank));
+    }
+
+    private static boolean allowed(Set<InvoiceState> states, int ordinal) {
+        return states == null || states.contains(InvoiceState.fromOrdinal(ordinal));
+    }
+}
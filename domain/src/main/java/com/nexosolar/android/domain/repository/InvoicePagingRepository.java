@@ -0,0 +1,33 @@
+package com.nexosolar.android.domain.repository;
+
+import com.nexosolar.android.domain.models.InvoiceFilters;
+import com.nexosolar.android.domain.models.InvoiceSummary;
+
+/**
+ * Contrato de acceso paginado a las facturas de la caché local.
+ *
+ * Los filtros se resuelven en la fuente de datos y solo se cargan las páginas visibles.
+ * El tipo del flujo de páginas lo fija la implementación (en Android, un LiveData de
+ * PagingData), de modo que el dominio no depende de la librería de paginación.
+ *
+ * @param <P> Flujo observable de páginas de facturas
+ */
+public interface InvoicePagingRepository<P> {
+
+    // ===== Métodos públicos =====
+
+    /**
+     * Crea el flujo paginado de facturas que cumplen los filtros.
+     * Cada cambio de filtros debe crear un flujo nuevo.
+     *
+     * @param filters Criterios a aplicar (null = todas las facturas)
+     */
+    P getPagedInvoices(InvoiceFilters filters);
+
+    /**
+     * Obtiene el resumen del listado almacenado (tamaño y límites de los filtros).
+     *
+     * @param callback Callback con el resumen, invocado en un hilo de fondo
+     */
+    void getSummary(RepositoryCallback<InvoiceSummary> callback);
+}
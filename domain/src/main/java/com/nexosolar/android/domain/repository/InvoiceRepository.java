@@ -18,6 +18,27 @@ public interface InvoiceRepository {
      */
     void getInvoices(RepositoryCallback<List<Invoice>> callback);
 
+    /**
+     * Observa el listado de facturas: emite primero la caché local (si existe) y después,
+     * cuando procede sincronizar, los datos actualizados desde la fuente remota.
+     *
+     * @param forceRefresh true para sincronizar aunque la caché siga vigente
+     * @param observer Receptor de las emisiones de caché, red y error
+     * @return Suscripción para cancelar el flujo
+     */
+    Subscription observeInvoices(boolean forceRefresh, StreamObserver<List<Invoice>> observer);
+
+
+    /**
+     * Revalida la caché local contra la fuente remota sin leer el listado: solo sincroniza
+     * si se fuerza o si la caché ha caducado según la política de frescura (TTL).
+     * Pensado para el listado paginado, que lee las facturas directamente de la caché.
+     *
+     * @param forceRefresh true para sincronizar aunque la caché siga vigente
+     * @param callback Recibe true si la sincronización cambió la caché, false si no hubo cambios
+     *                 o no hizo falta sincronizar
+     */
+    void revalidateInvoices(boolean forceRefresh, RepositoryCallback<Boolean> callback);
 
     /**
      * Fuerza una actualización de datos desde la fuente remota.
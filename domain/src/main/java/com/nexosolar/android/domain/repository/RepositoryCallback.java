@@ -13,4 +13,14 @@ public interface RepositoryCallback<T> {
     void onSuccess(T data);
 
     void onError(Throwable error);
+
+    /**
+     * Segunda emisión opcional: datos actualizados tras una revalidación en segundo plano,
+     * posterior a un onSuccess servido desde caché. Por defecto se ignora.
+     *
+     * @param data Datos frescos que sustituyen a los entregados en onSuccess
+     */
+    default void onUpdate(T data) {
+        // Sin acción por defecto
+    }
 }
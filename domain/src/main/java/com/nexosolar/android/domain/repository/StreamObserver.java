@@ -0,0 +1,37 @@
+package com.nexosolar.android.domain.repository;
+
+/**
+ * Observador de un flujo de datos con varias emisiones (caché y red).
+ * Alternativa a {@link RepositoryCallback} cuando la fuente puede entregar primero los
+ * datos locales y después los remotos, sin que el llamador tenga que volver a pedirlos.
+ *
+ * Orden de los eventos:
+ * - onCache: como mucho una vez, con los datos locales disponibles.
+ * - onNetwork: como mucho una vez, con los datos tras sincronizar con la fuente remota.
+ *   Se omite si la sincronización no cambió nada respecto a lo ya emitido por caché.
+ * - onComplete u onError: exactamente uno de los dos, como último evento.
+ *
+ * Tras cancelar la {@link Subscription} no se entrega ningún evento más.
+ *
+ * @param <T> Tipo de dato emitido
+ */
+public interface StreamObserver<T> {
+
+    // ===== Métodos públicos =====
+
+    void onCache(T data);
+
+    void onNetwork(T data);
+
+    /**
+     * Error terminal. Si ya se recibió onCache, los datos entregados siguen siendo válidos.
+     */
+    void onError(Throwable error);
+
+    /**
+     * Fin del flujo sin errores. Por defecto se ignora.
+     */
+    default void onComplete() {
+        // Sin acción por defecto
+    }
+}
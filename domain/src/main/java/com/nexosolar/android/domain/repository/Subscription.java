@@ -0,0 +1,18 @@
+package com.nexosolar.android.domain.repository;
+
+/**
+ * Suscripción a un flujo de datos iniciado con un {@link StreamObserver}.
+ * Permite al llamador dejar de recibir eventos (por ejemplo, al destruirse la pantalla).
+ */
+public interface Subscription {
+
+    // ===== Métodos públicos =====
+
+    /**
+     * Cancela el flujo. Es idempotente; el trabajo ya iniciado puede completarse,
+     * pero sus resultados no llegarán al observador.
+     */
+    void cancel();
+
+    boolean isCancelled();
+}
@@ -0,0 +1,122 @@
+package com.nexosolar.android.domain.usecase.invoice;
+
+import com.nexosolar.android.domain.models.InvoiceAggregates;
+import com.nexosolar.android.domain.models.InvoiceIndex;
+import com.nexosolar.android.domain.models.InvoiceState;
+import com.nexosolar.android.domain.models.InvoiceStatistics;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Caso de uso que calcula agregados analíticos (totales mensuales, suma y recuento por
+ * estado y percentiles de importe) sobre cualquier subconjunto de facturas.
+ *
+ * Trabaja sobre las columnas primitivas de un {@link InvoiceIndex} y sobre la selección que
+ * produce {@link FilterInvoicesUseCase}, sin materializar facturas. Todo se calcula en una
+ * única pasada que recorre el índice en orden de importe: así los importes seleccionados
+ * quedan ya ordenados para los percentiles, sin ordenar nada adicional.
+ */
+public class AggregateInvoicesUseCase {
+
+    // ===== Constantes =====
+
+    /**
+     * Días entre 0000-03-01 y 1970-01-01 (calendario civil proléptico).
+     */
+    private static final long DAYS_0000_03_01_TO_EPOCH = 719_468L;
+
+    // ===== Métodos públicos =====
+
+    /**
+     * Agrega todas las facturas del índice.
+     *
+     * @param index Índice construido sobre las facturas originales
+     * @return Agregados del listado completo
+     */
+    public InvoiceAggregates execute(InvoiceIndex index) {
+        return execute(index, null);
+    }
+
+    /**
+     * Agrega las facturas seleccionadas del índice.
+     *
+     * @param index Índice construido sobre las facturas originales
+     * @param selection Posiciones a agregar (null = todas), por ejemplo el resultado del filtrado
+     * @return Agregados del subconjunto
+     */
+    public InvoiceAggregates execute(InvoiceIndex index, BitSet selection) {
+        if (index == null) {
+            index = InvoiceIndex.empty();
+        }
+
+        int size = index.size();
+        int selected = selection != null ? selection.cardinality() : size;
+
+        // Rango de meses: los límites de fecha del listado completo acotan los de cualquier subconjunto
+        InvoiceStatistics statistics = index.getStatistics();
+        LocalDate oldest = statistics.getOldestDate();
+        LocalDate newest = statistics.getNewestDate();
+        int firstMonthKey = oldest != null ? monthKey(oldest.toEpochDay()) : 0;
+        int months = oldest != null ? monthKey(newest.toEpochDay()) - firstMonthKey + 1 : 0;
+
+        double total = 0;
+        double[] sumByState = new double[InvoiceState.COUNT];
+        int[] countByState = new int[InvoiceState.COUNT];
+        double[] monthlyTotals = new double[months];
+        int[] monthlyCounts = new int[months];
+        float[] sortedAmounts = new float[selected];
+        int taken = 0;
+
+        for (int rank = 0; rank < size && taken < selected; rank++) {
+            int i = index.positionByAmountRank(rank);
+            if (selection != null && !selection.get(i)) {
+                continue;
+            }
+
+            float amount = index.getAmount(i);
+            int state = index.getStateOrdinal(i);
+            total += amount;
+            sumByState[state] += amount;
+            countByState[state]++;
+
+            int day = index.getEpochDay(i);
+            if (day != InvoiceIndex.NO_DATE) {
+                int slot = monthKey(day) - firstMonthKey;
+                monthlyTotals[slot] += amount;
+                monthlyCounts[slot]++;
+            }
+
+            sortedAmounts[taken++] = amount;
+        }
+
+        if (taken < selected) {
+            // Selección con posiciones fuera del índice: se ignoran
+            sortedAmounts = Arrays.copyOf(sortedAmounts, taken);
+        }
+
+        YearMonth firstMonth = months > 0 ? YearMonth.of(firstMonthKey / 12, firstMonthKey % 12 + 1) : null;
+        return new InvoiceAggregates(taken, total, sumByState, countByState,
+                firstMonth, monthlyTotals, monthlyCounts, sortedAmounts);
+    }
+
+    // ===== Métodos privados =====
+
+    /**
+     * Convierte un epoch day en la clave año * 12 + (mes - 1) con aritmética entera,
+     * sin crear LocalDate por factura (algoritmo civil_from_days).
+     */
+    private static int monthKey(long epochDay) {
+        long z = epochDay + DAYS_0000_03_01_TO_EPOCH;
+        long era = (z >= 0 ? z : z - 146_096) / 146_097;
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (int) (year * 12 + month - 1);
+    }
+}
@@ -1,18 +1,37 @@
 package com.nexosolar.android.domain.usecase.invoice;
 
 import com.nexosolar.android.domain.models.Invoice;
+import com.nexosolar.android.domain.models.InvoiceFilters;
+import com.nexosolar.android.domain.models.InvoiceIndex;
+import com.nexosolar.android.domain.models.InvoiceState;
+
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
+import java.util.Set;
 
 
 /**
  * Caso de uso que aplica filtros múltiples al listado de facturas.
  * Implementa la lógica de negocio de filtrado por estado, fecha e importe de forma combinada.
  * Permite al ViewModel delegar la complejidad del filtrado y mantener la UI libre de lógica de negocio.
+ *
+ * El filtrado trabaja sobre un {@link InvoiceIndex} columnar: los rangos de fecha e importe
+ * se resuelven por búsqueda binaria sobre sus índices ordenados, se intersectan los candidatos
+ * y solo entonces se aplica el predicado de estado. El resultado es un {@link BitSet} de posiciones.
+ *
+ * El predicado de estado es una única comprobación de bit: los estados permitidos se reducen
+ * a una máscara long indexada por ordinal (sin filtro = todos los bits activos).
  */
 public class FilterInvoicesUseCase {
 
+    // ===== Constantes =====
+
+    /**
+     * Máscara sin filtro de estado: todos los ordinales permitidos.
+     */
+    private static final long ALL_STATES = -1L;
 
     // ===== Métodos públicos =====
 
@@ -20,6 +39,12 @@ public class FilterInvoicesUseCase {
      * Filtra el listado de facturas según los criterios proporcionados.
      * Los filtros son acumulativos (AND lógico): una factura debe cumplir todos los criterios activos.
      *
+     * Los estados no se comparan como texto exacto sino por su {@link InvoiceState}
+     * ({@link InvoiceState#fromServerValue(String)}), igual que el filtro por EnumSet y la
+     * consulta SQL del modo paginado: "pagada" selecciona las facturas "Pagada", y cualquier
+     * texto no reconocido equivale a {@link InvoiceState#UNKNONWN}, por lo que selecciona todas
+     * las facturas con estado desconocido o nulo.
+     *
      * @param facturasOriginales Lista completa de facturas sin filtrar
      * @param estadosSeleccionados Estados permitidos (null = sin filtro de estado)
      * @param fechaInicio Fecha mínima (inclusive)
@@ -40,53 +65,230 @@ public class FilterInvoicesUseCase {
             return new ArrayList<>();
         }
 
-        List<Invoice> facturasFiltradas = new ArrayList<>();
+        InvoiceIndex index = InvoiceIndex.build(facturasOriginales);
+        BitSet seleccion = execute(index, estadosSeleccionados, fechaInicio, fechaFin, importeMin, importeMax);
+        return index.materialize(seleccion);
+    }
+
+    /**
+     * Filtra un índice columnar ya construido.
+     * Mismos criterios y semántica que {@link #execute(List, List, LocalDate, LocalDate, Double, Double)},
+     * pero sin materializar facturas: devuelve las posiciones que cumplen todos los criterios.
+     *
+     * @param index Índice construido sobre las facturas originales
+     * @return Posiciones del índice que cumplen los filtros
+     */
+    public BitSet execute(InvoiceIndex index,
+                          List<String> estadosSeleccionados,
+                          LocalDate fechaInicio,
+                          LocalDate fechaFin,
+                          Double importeMin,
+                          Double importeMax) {
+        return select(index, toStateMask(estadosSeleccionados), fechaInicio, fechaFin, importeMin, importeMax);
+    }
+
+    /**
+     * Filtra un índice columnar con los criterios de un {@link InvoiceFilters}.
+     * Usa directamente el conjunto de estados de los filtros, sin pasar por sus textos.
+     *
+     * @param index Índice construido sobre las facturas originales
+     * @param filters Criterios a aplicar
+     * @return Posiciones del índice que cumplen los filtros
+     */
+    public BitSet execute(InvoiceIndex index, InvoiceFilters filters) {
+        return select(index, toStateMask(filters.getStates()),
+                filters.getStartDate(), filters.getEndDate(),
+                filters.getMinAmount(), filters.getMaxAmount());
+    }
+
+    /**
+     * Refina un resultado previo con nuevos criterios.
+     * Solo evalúa las posiciones ya seleccionadas, por lo que es válido únicamente cuando
+     * los nuevos criterios son un estrechamiento de los que produjeron {@code previo}
+     * (el resultado es siempre un subconjunto del conjunto de partida).
+     *
+     * @param index Índice sobre el que se calculó el resultado previo
+     * @param previo Posiciones seleccionadas por la pasada anterior
+     * @return Posiciones de {@code previo} que cumplen los nuevos criterios
+     */
+    public BitSet refine(InvoiceIndex index,
+                         BitSet previo,
+                         List<String> estadosSeleccionados,
+                         LocalDate fechaInicio,
+                         LocalDate fechaFin,
+                         Double importeMin,
+                         Double importeMax) {
+        return refineSelection(index, previo, toStateMask(estadosSeleccionados),
+                fechaInicio, fechaFin, importeMin, importeMax);
+    }
+
+    /**
+     * Refina un resultado previo con los criterios de un {@link InvoiceFilters}.
+     * Mismas condiciones de validez que {@link #refine(InvoiceIndex, BitSet, List, LocalDate, LocalDate, Double, Double)}.
+     */
+    public BitSet refine(InvoiceIndex index, BitSet previo, InvoiceFilters filters) {
+        return refineSelection(index, previo, toStateMask(filters.getStates()),
+                filters.getStartDate(), filters.getEndDate(),
+                filters.getMinAmount(), filters.getMaxAmount());
+    }
+
+    // ===== Métodos privados =====
+
+    /**
+     * Pasada completa sobre el índice.
+     *
+     * @param mascaraEstados Bit n activo si el estado de ordinal n está permitido
+     */
+    private BitSet select(InvoiceIndex index,
+                          long mascaraEstados,
+                          LocalDate fechaInicio,
+                          LocalDate fechaFin,
+                          Double importeMin,
+                          Double importeMax) {
+
+        if (index == null || index.isEmpty()) {
+            return new BitSet();
+        }
+
+        int size = index.size();
+        BitSet resultado = new BitSet(size);
+
+        // Pre-cálculo de los criterios a primitivos (una sola vez por pasada)
+        boolean filtraFecha = fechaInicio != null || fechaFin != null;
+        boolean filtraImporte = importeMin != null || importeMax != null;
+        // Con rango de fechas activo, las facturas sin fecha (NO_DATE) quedan fuera del límite inferior
+        int diaMin = fechaInicio != null ? (int) fechaInicio.toEpochDay() : InvoiceIndex.NO_DATE + 1;
+        int diaMax = fechaFin != null ? (int) fechaFin.toEpochDay() : Integer.MAX_VALUE;
+        double min = importeMin != null ? importeMin : Double.NEGATIVE_INFINITY;
+        double max = importeMax != null ? importeMax : Double.POSITIVE_INFINITY;
 
-        for (Invoice factura : facturasOriginales) {
-            // 1. Filtro por Estado
-            boolean cumpleEstado;
-            if (estadosSeleccionados == null) {
-                cumpleEstado = true;
-            } else {
-                // Si la lista de estados seleccionados contiene el estado de la factura
-                cumpleEstado = estadosSeleccionados.contains(factura.getInvoiceStatus());
+        if (!filtraFecha && !filtraImporte) {
+            // Sin rangos: solo queda el predicado de estado
+            for (int i = 0; i < size; i++) {
+                if ((mascaraEstados & (1L << index.getStateOrdinal(i))) != 0) {
+                    resultado.set(i);
+                }
             }
+            return resultado;
+        }
 
-            // 2. Filtro por Fecha
-            boolean cumpleFecha = true;
-            LocalDate fechaFactura = factura.getInvoiceDate();
+        // 1. Búsqueda binaria de cada rango sobre su índice ordenado
+        int desdeFecha = filtraFecha ? index.lowerBoundByDate(diaMin) : 0;
+        int hastaFecha = filtraFecha ? index.upperBoundByDate(diaMax) : size;
+        int desdeImporte = filtraImporte ? index.lowerBoundByAmount(min) : 0;
+        int hastaImporte = filtraImporte ? index.upperBoundByAmount(max) : size;
 
-            if (fechaFactura != null) {
-                if (fechaInicio != null) {
-                    cumpleFecha = !fechaFactura.isBefore(fechaInicio);
+        int candidatosFecha = Math.max(0, hastaFecha - desdeFecha);
+        int candidatosImporte = Math.max(0, hastaImporte - desdeImporte);
+
+        // 2. Intersección: se recorre el rango con menos candidatos y se comprueba
+        //    el otro rango directamente sobre la columna primitiva
+        if (candidatosFecha <= candidatosImporte) {
+            for (int rank = desdeFecha; rank < hastaFecha; rank++) {
+                int i = index.positionByDateRank(rank);
+                double importe = index.getAmount(i);
+                if (importe < min || importe > max) {
+                    continue;
+                }
+                // 3. Predicado de estado solo sobre los candidatos
+                if ((mascaraEstados & (1L << index.getStateOrdinal(i))) != 0) {
+                    resultado.set(i);
                 }
-                if (cumpleFecha && fechaFin != null) {
-                    cumpleFecha = !fechaFactura.isAfter(fechaFin);
+            }
+        } else {
+            for (int rank = desdeImporte; rank < hastaImporte; rank++) {
+                int i = index.positionByAmountRank(rank);
+                if (filtraFecha) {
+                    int dia = index.getEpochDay(i);
+                    if (dia < diaMin || dia > diaMax) {
+                        continue;
+                    }
                 }
-            } else {
-                // Si hay rango pero la factura no tiene fecha, ¿se descarta?
-                if (fechaInicio != null || fechaFin != null) {
-                    cumpleFecha = false;
+                if ((mascaraEstados & (1L << index.getStateOrdinal(i))) != 0) {
+                    resultado.set(i);
                 }
             }
+        }
+
+        return resultado;
+    }
+
+    /**
+     * Refinamiento sobre las posiciones de una pasada previa.
+     *
+     * @param mascaraEstados Bit n activo si el estado de ordinal n está permitido
+     */
+    private BitSet refineSelection(InvoiceIndex index,
+                                   BitSet previo,
+                                   long mascaraEstados,
+                                   LocalDate fechaInicio,
+                                   LocalDate fechaFin,
+                                   Double importeMin,
+                                   Double importeMax) {
+
+        if (index == null || index.isEmpty() || previo == null || previo.isEmpty()) {
+            return new BitSet();
+        }
 
-            // 3. Filtro por Importe
-            double importe = factura.getInvoiceAmount();
-            boolean cumpleImporte = true;
+        BitSet resultado = new BitSet(index.size());
 
-            if (importeMin != null && importe < importeMin) {
-                cumpleImporte = false;
+        boolean filtraFecha = fechaInicio != null || fechaFin != null;
+        int diaMin = fechaInicio != null ? (int) fechaInicio.toEpochDay() : InvoiceIndex.NO_DATE + 1;
+        int diaMax = fechaFin != null ? (int) fechaFin.toEpochDay() : Integer.MAX_VALUE;
+        double min = importeMin != null ? importeMin : Double.NEGATIVE_INFINITY;
+        double max = importeMax != null ? importeMax : Double.POSITIVE_INFINITY;
+
+        for (int i = previo.nextSetBit(0); i >= 0; i = previo.nextSetBit(i + 1)) {
+            if (filtraFecha) {
+                int dia = index.getEpochDay(i);
+                if (dia < diaMin || dia > diaMax) {
+                    continue;
+                }
             }
-            if (cumpleImporte && importeMax != null && importe > importeMax) {
-                cumpleImporte = false;
+            double importe = index.getAmount(i);
+            if (importe < min || importe > max) {
+                continue;
             }
-            if (cumpleEstado && cumpleFecha && cumpleImporte) {
-                facturasFiltradas.add(factura);
+            if ((mascaraEstados & (1L << index.getStateOrdinal(i))) != 0) {
+                resultado.set(i);
             }
         }
 
-        return facturasFiltradas;
+        return resultado;
+    }
+
+    /**
+     * Convierte la lista de estados seleccionados en una máscara de bits indexada por ordinal.
+     * Cada texto se normaliza con {@link InvoiceState#fromServerValue(String)}.
+     *
+     * @return Máscara de estados permitidos, o {@link #ALL_STATES} si no hay filtro de estado
+     */
+    private long toStateMask(List<String> estadosSeleccionados) {
+        if (estadosSeleccionados == null) {
+            return ALL_STATES;
+        }
+
+        long mask = 0L;
+        for (String estado : estadosSeleccionados) {
+            mask |= 1L << InvoiceState.fromServerValue(estado).ordinal();
+        }
+        return mask;
     }
 
+    /**
+     * Convierte un conjunto de estados en una máscara de bits indexada por ordinal.
+     *
+     * @return Máscara de estados permitidos, o {@link #ALL_STATES} si no hay filtro de estado
+     */
+    private long toStateMask(Set<InvoiceState> estados) {
+        if (estados == null) {
+            return ALL_STATES;
+        }
 
-}
\ No newline at end of file
+        long mask = 0L;
+        for (InvoiceState estado : estados) {
+            mask |= 1L << estado.ordinal();
+        }
+        return mask;
+    }
+}
@@ -3,6 +3,8 @@ package com.nexosolar.android.domain.usecase.invoice;
 import com.nexosolar.android.domain.repository.RepositoryCallback;
 import com.nexosolar.android.domain.models.Invoice;
 import com.nexosolar.android.domain.repository.InvoiceRepository;
+import com.nexosolar.android.domain.repository.StreamObserver;
+import com.nexosolar.android.domain.repository.Subscription;
 
 import java.util.List;
 
@@ -23,6 +25,26 @@ public class GetInvoicesUseCase {
         repository.getInvoices(callback);
     }
 
+    /**
+     * Observa el listado de facturas: la caché se entrega en cuanto está disponible y los
+     * datos de red llegan como una segunda emisión, sin una recarga adicional.
+     *
+     * @param forceRefresh true para sincronizar con la red aunque la caché siga vigente
+     */
+    public Subscription observe(boolean forceRefresh, StreamObserver<List<Invoice>> observer) {
+        return repository.observeInvoices(forceRefresh, observer);
+    }
+
+    /**
+     * Revalida la caché sin cargar el listado (sincroniza solo si ha caducado o se fuerza).
+     *
+     * @param forceRefresh true para sincronizar con la red aunque la caché siga vigente
+     * @param callback Recibe true si la caché cambió
+     */
+    public void revalidate(boolean forceRefresh, RepositoryCallback<Boolean> callback) {
+        repository.revalidateInvoices(forceRefresh, callback);
+    }
+
     public void refresh(RepositoryCallback<Boolean> callback) {
         repository.refreshInvoices(callback);
     }
@@ -0,0 +1,38 @@
+package com.nexosolar.android.domain.usecase.invoice;
+
+import com.nexosolar.android.domain.models.InvoiceFilters;
+import com.nexosolar.android.domain.models.InvoiceSummary;
+import com.nexosolar.android.domain.repository.InvoicePagingRepository;
+import com.nexosolar.android.domain.repository.RepositoryCallback;
+
+/**
+ * Caso de uso del listado paginado de facturas.
+ * Proporciona al ViewModel las páginas filtradas y el resumen con el que decide si el
+ * listado cabe en memoria y calcula los límites de los filtros.
+ *
+ * @param <P> Flujo observable de páginas, fijado por el repositorio
+ */
+public class GetPagedInvoicesUseCase<P> {
+
+    // ===== Variables de instancia =====
+    private final InvoicePagingRepository<P> repository;
+
+    // ===== Constructores =====
+    public GetPagedInvoicesUseCase(InvoicePagingRepository<P> repository) {
+        this.repository = repository;
+    }
+
+    // ===== Métodos públicos =====
+
+    /**
+     * @param filters Criterios a aplicar en la consulta (null = todas las facturas)
+     * @return Flujo nuevo de páginas para esos filtros
+     */
+    public P observe(InvoiceFilters filters) {
+        return repository.getPagedInvoices(filters);
+    }
+
+    public void getSummary(RepositoryCallback<InvoiceSummary> callback) {
+        repository.getSummary(callback);
+    }
+}
@@ -25,3 +25,4 @@ include(":domain")
 include(":data-retrofit")
 include(":core")
 include(":data")
+include(":benchmark")